@@ -3,10 +3,18 @@ package org.example.data;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import org.example.game.RenderBackend;
+import org.example.game.TargetFrameRate;
+
 public class PreferencesManager {
     private static final String PREFS_NAME = "game_preferences";
     private static final String KEY_SOUND_ENABLED = "sound_enabled";
     private static final String KEY_MUSIC_ENABLED = "music_enabled";
+    private static final String KEY_TARGET_FRAME_RATE = "target_frame_rate";
+    private static final String KEY_RENDER_BACKEND = "render_backend";
+    private static final String KEY_MEASURE_RENDER_TIME = "measure_render_time";
+    private static final String KEY_RENDER_MILLIS_PREFIX = "render_millis_"; // + backend name
+    private static final String KEY_ADAPTIVE_RESOLUTION = "adaptive_resolution";
     
     private Context context;
     private SharedPreferences prefs;
@@ -31,5 +39,56 @@ public class PreferencesManager {
     public void setMusicEnabled(boolean enabled) {
         prefs.edit().putBoolean(KEY_MUSIC_ENABLED, enabled).apply();
     }
+    
+    public TargetFrameRate getTargetFrameRate() {
+        return TargetFrameRate.fromName(prefs.getString(KEY_TARGET_FRAME_RATE, TargetFrameRate.FPS_60.name()));
+    }
+    
+    public void setTargetFrameRate(TargetFrameRate rate) {
+        prefs.edit().putString(KEY_TARGET_FRAME_RATE, rate.name()).apply();
+    }
+    
+    public RenderBackend getRenderBackend() {
+        return RenderBackend.fromName(prefs.getString(KEY_RENDER_BACKEND, RenderBackend.AUTO.name()));
+    }
+    
+    public void setRenderBackend(RenderBackend backend) {
+        prefs.edit().putString(KEY_RENDER_BACKEND, backend.name()).apply();
+    }
+    
+    /**
+     * Gets the backend to draw with: the chosen one, or for {@link RenderBackend#AUTO} the faster measured one
+     */
+    public RenderBackend getResolvedRenderBackend() {
+        return getRenderBackend().resolve(getMeasuredRenderMillis(RenderBackend.HARDWARE),
+                getMeasuredRenderMillis(RenderBackend.SOFTWARE));
+    }
+    
+    public boolean isAdaptiveResolutionEnabled() {
+        return prefs.getBoolean(KEY_ADAPTIVE_RESOLUTION, false);
+    }
+    
+    public void setAdaptiveResolutionEnabled(boolean enabled) {
+        prefs.edit().putBoolean(KEY_ADAPTIVE_RESOLUTION, enabled).apply();
+    }
+    
+    public boolean isRenderTimeMeasured() {
+        return prefs.getBoolean(KEY_MEASURE_RENDER_TIME, false);
+    }
+    
+    public void setRenderTimeMeasured(boolean measured) {
+        prefs.edit().putBoolean(KEY_MEASURE_RENDER_TIME, measured).apply();
+    }
+    
+    /**
+     * Gets the average frame draw time last measured with a backend
+     * @return Milliseconds, or -1 if the backend hasn't been measured
+     */
+    public float getMeasuredRenderMillis(RenderBackend backend) {
+        return prefs.getFloat(KEY_RENDER_MILLIS_PREFIX + backend.name(), -1f);
+    }
+    
+    public void setMeasuredRenderMillis(RenderBackend backend, float millis) {
+        prefs.edit().putFloat(KEY_RENDER_MILLIS_PREFIX + backend.name(), millis).apply();
+    }
 }
-
@@ -0,0 +1,62 @@
+package org.example.game;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps released bitmaps so the next level can draw into them instead of allocating new ones.
+ * Each level creates a new renderer, whose floor chunks and wall pattern have the same sizes as
+ * the previous level's, so a restart reuses their memory rather than growing the heap again.
+ * Thread safe: bitmaps are released on the UI thread and obtained on the render thread.
+ */
+class BitmapPool {
+    // Enough for the floor chunks of a full-screen viewport
+    private static final int MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+    private static BitmapPool instance;
+
+    private final List<Bitmap> free = new ArrayList<>();
+    private int pooledBytes = 0;
+
+    static synchronized BitmapPool getInstance() {
+        if (instance == null) {
+            instance = new BitmapPool();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a mutable bitmap of the given size and config, reusing a released one when possible.
+     * A reused bitmap still holds its old pixels; callers must draw over all of it.
+     */
+    synchronized Bitmap obtain(int width, int height, Bitmap.Config config) {
+        for (int i = free.size() - 1; i >= 0; i--) {
+            Bitmap bitmap = free.get(i);
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config) {
+                free.remove(i);
+                pooledBytes -= bitmap.getAllocationByteCount();
+                return bitmap;
+            }
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Gives a bitmap back for reuse. It is recycled instead if the pool is full.
+     * The caller must not use it afterwards.
+     */
+    synchronized void release(Bitmap bitmap) {
+        if (bitmap.isRecycled()) {
+            return;
+        }
+        int bytes = bitmap.getAllocationByteCount();
+        if (!bitmap.isMutable() || pooledBytes + bytes > MAX_POOLED_BYTES) {
+            bitmap.recycle();
+            return;
+        }
+        free.add(bitmap);
+        pooledBytes += bytes;
+    }
+}
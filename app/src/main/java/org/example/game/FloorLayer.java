@@ -0,0 +1,321 @@
+package org.example.game;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Shader;
+
+import java.util.List;
+
+/**
+ * The static floor (corridor and room tiles), pre-rendered into square world-space chunks.
+ * The floor never changes, so each chunk is drawn once and then blitted as a single bitmap;
+ * a frame draws only the handful of chunks the camera overlaps.
+ *
+ * When the camera is zoomed out, chunks come from a coarser mip level: a level n chunk
+ * bitmap has the same pixel size but covers 2^n times the world width and height, and has
+ * the walls baked in as well. The number of chunks on screen, and so the cost of a frame,
+ * stays about the same at every zoom.
+ *
+ * Chunks live in a fixed pool sized to cover the viewport plus one ring of neighbors.
+ * When a chunk is needed and the pool is full, the least recently drawn chunk's bitmap
+ * is reused for it. Render thread only.
+ */
+class FloorLayer {
+    static final int CHUNK_SIZE = 512; // Pixels per chunk side (world pixels at level 0)
+    static final int MAX_LEVEL = 3; // Coarsest mip level, 1/8 scale
+    private static final float SQUARE_SIZE = 20f; // Size of each floor tile
+    // Floors are filled from a pattern of 8x8 tiles, which halves to whole pixels down to MAX_LEVEL
+    private static final int PATTERN_SIZE = 8 * (int) SQUARE_SIZE;
+
+    private final SchoolLayout schoolLayout;
+    private final SpriteManager spriteManager;
+    private final WallRenderCache wallRenderCache;
+    private final float worldWidth;
+    private final float worldHeight;
+    private final int backgroundColor;
+    private final TilePattern corridorPattern;
+    private final TilePattern roomPattern;
+    private final Paint chunkPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    // Reused while baking and drawing chunks
+    private final Canvas chunkCanvas = new Canvas();
+    private final RectF chunkRect = new RectF();
+
+    private Chunk[] chunks = new Chunk[0];
+    private long frame = 0;
+
+    private static class Chunk {
+        Bitmap bitmap;
+        int level;
+        int chunkX;
+        int chunkY;
+        boolean baked;
+        long lastUsedFrame;
+    }
+
+    /**
+     * A floor tile repeated over an area with a shader, with a downscaled copy per mip level
+     */
+    private static class TilePattern {
+        private final SpriteManager.Sprite tile;
+        private final Paint fallbackPaint;
+        private final Bitmap[] bitmaps = new Bitmap[MAX_LEVEL + 1];
+        private final Paint[] paints = new Paint[MAX_LEVEL + 1];
+
+        TilePattern(SpriteManager.Sprite tile, Paint fallbackPaint) {
+            this.tile = tile;
+            this.fallbackPaint = fallbackPaint;
+        }
+
+        /**
+         * Gets the paint filling world coordinates with the tile, for a canvas scaled down to the level.
+         * The pattern is anchored at the world origin, so the tiles line up with the world grid.
+         *
+         * @return A shader paint, or the plain fallback paint if the tile sprite isn't loaded
+         */
+        Paint getPaint(SpriteManager spriteManager, int level) {
+            if (paints[level] == null) {
+                Bitmap bitmap = getBitmap(spriteManager, level);
+                if (bitmap == null) {
+                    paints[level] = fallbackPaint;
+                } else {
+                    BitmapShader shader = new BitmapShader(bitmap, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+                    // Stretched back to world size here, the canvas shrinks it again to 1:1 pixels
+                    Matrix matrix = new Matrix();
+                    matrix.setScale(1 << level, 1 << level);
+                    shader.setLocalMatrix(matrix);
+                    Paint paint = new Paint();
+                    paint.setShader(shader);
+                    paints[level] = paint;
+                }
+            }
+            return paints[level];
+        }
+
+        private Bitmap getBitmap(SpriteManager spriteManager, int level) {
+            if (bitmaps[level] != null) {
+                return bitmaps[level];
+            }
+            Bitmap bitmap;
+            if (level == 0) {
+                // Tile already scaled to the square size, so the pattern is copied without scaling
+                Bitmap tileBitmap = spriteManager != null ? spriteManager.getTileBitmap(tile, (int) SQUARE_SIZE) : null;
+                if (tileBitmap == null) {
+                    return null;
+                }
+                // The floor is opaque, so 16-bit pixels are enough and halve the memory
+                bitmap = BitmapPool.getInstance().obtain(PATTERN_SIZE, PATTERN_SIZE, Bitmap.Config.RGB_565);
+                Canvas canvas = new Canvas(bitmap);
+                for (int y = 0; y < PATTERN_SIZE; y += (int) SQUARE_SIZE) {
+                    for (int x = 0; x < PATTERN_SIZE; x += (int) SQUARE_SIZE) {
+                        canvas.drawBitmap(tileBitmap, x, y, null);
+                    }
+                }
+            } else {
+                Bitmap larger = getBitmap(spriteManager, level - 1);
+                if (larger == null) {
+                    return null;
+                }
+                int size = PATTERN_SIZE >> level;
+                bitmap = BitmapPool.getInstance().obtain(size, size, Bitmap.Config.RGB_565);
+                // Halving with bilinear filtering averages each 2x2 block of the level above
+                Canvas canvas = new Canvas(bitmap);
+                canvas.scale(0.5f, 0.5f);
+                canvas.drawBitmap(larger, 0, 0, new Paint(Paint.FILTER_BITMAP_FLAG));
+            }
+            bitmaps[level] = bitmap;
+            return bitmap;
+        }
+
+        void release() {
+            for (int level = 0; level <= MAX_LEVEL; level++) {
+                if (bitmaps[level] != null) {
+                    BitmapPool.getInstance().release(bitmaps[level]);
+                    bitmaps[level] = null;
+                }
+                paints[level] = null;
+            }
+        }
+    }
+
+    /**
+     * @param wallRenderCache Walls, baked into the chunks of levels above 0
+     */
+    FloorLayer(SchoolLayout schoolLayout, SpriteManager spriteManager, WallRenderCache wallRenderCache,
+            float worldWidth, float worldHeight, int backgroundColor, Paint corridorPaint, Paint roomPaint) {
+        this.schoolLayout = schoolLayout;
+        this.spriteManager = spriteManager;
+        this.wallRenderCache = wallRenderCache;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.backgroundColor = backgroundColor;
+        this.corridorPattern = new TilePattern(SpriteManager.Sprite.CORRIDOR_TILE, corridorPaint);
+        this.roomPattern = new TilePattern(SpriteManager.Sprite.ROOM_TILE, roomPaint);
+    }
+
+    /**
+     * Picks the mip level for drawing at a scale: the coarsest one whose chunks still have
+     * at least one pixel per screen pixel
+     *
+     * @param pixelsPerWorldPixel Screen pixels one world pixel is drawn as
+     */
+    static int getLevel(float pixelsPerWorldPixel) {
+        int level = 0;
+        while (level < MAX_LEVEL && pixelsPerWorldPixel * (2 << level) <= 1f) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Draws the floor under the camera. The canvas must already be transformed to world coordinates.
+     *
+     * @param level Mip level to draw, from {@link #getLevel(float)}; above 0 the walls are drawn too
+     */
+    void draw(Canvas canvas, float cameraX, float cameraY, float viewportWidth, float viewportHeight, int level) {
+        frame++;
+        int chunkWorldSize = CHUNK_SIZE << level;
+        ensureCapacity(viewportWidth, viewportHeight, level);
+
+        int firstChunkX = Math.max(0, (int) Math.floor(cameraX / chunkWorldSize));
+        int firstChunkY = Math.max(0, (int) Math.floor(cameraY / chunkWorldSize));
+        int lastChunkX = Math.min((int) Math.floor((cameraX + viewportWidth) / chunkWorldSize), getChunkColumns(level) - 1);
+        int lastChunkY = Math.min((int) Math.floor((cameraY + viewportHeight) / chunkWorldSize), getChunkRows(level) - 1);
+
+        for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+            for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+                Chunk chunk = obtainChunk(level, chunkX, chunkY);
+                float left = chunkX * chunkWorldSize;
+                float top = chunkY * chunkWorldSize;
+                // Filtered, since the camera's zoom scales the chunks too
+                chunkRect.set(left, top, left + chunkWorldSize, top + chunkWorldSize);
+                canvas.drawBitmap(chunk.bitmap, null, chunkRect, chunkPaint);
+            }
+        }
+    }
+
+    /**
+     * Grows the pool so every chunk a viewport of this size can overlap fits,
+     * plus a ring around it so panning back and forth doesn't re-bake
+     */
+    private void ensureCapacity(float viewportWidth, float viewportHeight, int level) {
+        int columns = (int) Math.ceil(viewportWidth / (CHUNK_SIZE << level)) + 2;
+        int rows = (int) Math.ceil(viewportHeight / (CHUNK_SIZE << level)) + 2;
+        int capacity = Math.min(columns, getChunkColumns(level)) * Math.min(rows, getChunkRows(level));
+        if (capacity <= chunks.length) {
+            return;
+        }
+        Chunk[] grown = new Chunk[capacity];
+        System.arraycopy(chunks, 0, grown, 0, chunks.length);
+        for (int i = chunks.length; i < capacity; i++) {
+            grown[i] = new Chunk();
+        }
+        chunks = grown;
+    }
+
+    private int getChunkColumns(int level) {
+        return (int) Math.ceil(worldWidth / (CHUNK_SIZE << level));
+    }
+
+    private int getChunkRows(int level) {
+        return (int) Math.ceil(worldHeight / (CHUNK_SIZE << level));
+    }
+
+    /**
+     * Gets the baked chunk at the given level and chunk coordinates, baking it into a free or
+     * least recently used slot if it isn't cached
+     */
+    private Chunk obtainChunk(int level, int chunkX, int chunkY) {
+        Chunk leastRecent = null;
+        for (Chunk chunk : chunks) {
+            if (chunk.baked && chunk.level == level && chunk.chunkX == chunkX && chunk.chunkY == chunkY) {
+                chunk.lastUsedFrame = frame;
+                return chunk;
+            }
+            if (leastRecent == null || !chunk.baked
+                    || (leastRecent.baked && chunk.lastUsedFrame < leastRecent.lastUsedFrame)) {
+                leastRecent = chunk;
+            }
+        }
+
+        if (leastRecent.bitmap == null) {
+            // The floor is opaque, so 16-bit pixels are enough and halve the memory
+            leastRecent.bitmap = BitmapPool.getInstance().obtain(CHUNK_SIZE, CHUNK_SIZE, Bitmap.Config.RGB_565);
+        }
+        leastRecent.level = level;
+        leastRecent.chunkX = chunkX;
+        leastRecent.chunkY = chunkY;
+        leastRecent.lastUsedFrame = frame;
+        bake(leastRecent);
+        // On a hardware canvas, upload the new pixels now rather than in the middle of drawing
+        leastRecent.bitmap.prepareToDraw();
+        leastRecent.baked = true;
+        return leastRecent;
+    }
+
+    /**
+     * Draws the tiles of a chunk, and above level 0 the walls, into its bitmap
+     */
+    private void bake(Chunk chunk) {
+        int chunkWorldSize = CHUNK_SIZE << chunk.level;
+        float chunkLeft = chunk.chunkX * chunkWorldSize;
+        float chunkTop = chunk.chunkY * chunkWorldSize;
+        float chunkRight = Math.min(worldWidth, chunkLeft + chunkWorldSize);
+        float chunkBottom = Math.min(worldHeight, chunkTop + chunkWorldSize);
+
+        chunkCanvas.setBitmap(chunk.bitmap);
+        chunkCanvas.drawColor(backgroundColor); // Outside the world stays plain floor color
+        chunkCanvas.save();
+        chunkCanvas.scale(1f / (1 << chunk.level), 1f / (1 << chunk.level));
+        chunkCanvas.translate(-chunkLeft, -chunkTop);
+        chunkCanvas.clipRect(chunkLeft, chunkTop, chunkRight, chunkBottom);
+
+        // First, corridor squares (light gray) for the whole chunk
+        chunkCanvas.drawRect(chunkLeft, chunkTop, chunkRight, chunkBottom,
+                corridorPattern.getPaint(spriteManager, chunk.level));
+
+        // Then, room squares (darker gray) on top of rooms
+        Paint roomPaint = roomPattern.getPaint(spriteManager, chunk.level);
+        List<SchoolLayout.Room> rooms = schoolLayout.getRooms();
+        for (SchoolLayout.Room room : rooms) {
+            // Only the squares whose center is actually in the room, which for a
+            // rectangular room is a rectangle of whole squares
+            float halfSquare = SQUARE_SIZE / 2;
+            float left = (float) (Math.ceil((room.getX() - halfSquare) / SQUARE_SIZE) * SQUARE_SIZE);
+            float top = (float) (Math.ceil((room.getY() - halfSquare) / SQUARE_SIZE) * SQUARE_SIZE);
+            float right = (float) (Math.floor((room.getX() + room.getWidth() - halfSquare) / SQUARE_SIZE) * SQUARE_SIZE) + SQUARE_SIZE;
+            float bottom = (float) (Math.floor((room.getY() + room.getHeight() - halfSquare) / SQUARE_SIZE) * SQUARE_SIZE) + SQUARE_SIZE;
+            if (right <= left || bottom <= top || right < chunkLeft || left > chunkRight
+                    || bottom < chunkTop || top > chunkBottom) {
+                continue;
+            }
+            chunkCanvas.drawRect(left, top, right, bottom, roomPaint);
+        }
+
+        if (chunk.level > 0) {
+            wallRenderCache.draw(chunkCanvas, chunkLeft, chunkTop, chunkWorldSize, chunkWorldSize);
+        }
+
+        chunkCanvas.restore();
+        chunkCanvas.setBitmap(null);
+    }
+
+    /**
+     * Gives the chunk and pattern bitmaps back to the pool. The layer can still be drawn afterwards; chunks are baked again.
+     */
+    void release() {
+        for (Chunk chunk : chunks) {
+            if (chunk.bitmap != null) {
+                BitmapPool.getInstance().release(chunk.bitmap);
+                chunk.bitmap = null;
+            }
+            chunk.baked = false;
+        }
+        corridorPattern.release();
+        roomPattern.release();
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.game;
+
+import android.os.Build;
+import android.view.Display;
+
+/**
+ * Decides which vsync callbacks produce a frame.
+ * Picks the display refresh rate that best matches the target frame rate,
+ * then renders on every vsync or every N-th vsync so frames stay in phase with the panel.
+ * The display may not switch to the picked rate, so once vsyncs arrive the pacer measures
+ * the panel's real period and paces by that instead.
+ */
+public class FramePacer {
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    private static final int VSYNC_SAMPLES = 30; // Vsync intervals per measurement of the panel's period
+    private static final float RATE_TOLERANCE = 0.05f; // Measured rates this close to the paced one are jitter
+
+    private TargetFrameRate target;
+    private float displayRefreshRate = DEFAULT_REFRESH_RATE; // Picked for the target, then measured
+    private int preferredModeId = 0; // Display mode to ask the window for, 0 = no preference
+    private float frameRate = DEFAULT_REFRESH_RATE;
+    private long vsyncPeriodNanos;
+    private long frameIntervalNanos;
+    private long lastFrameTimeNanos = 0;
+    private long lastVsyncNanos = 0;
+    private long shortestVsyncNanos = Long.MAX_VALUE;
+    private int vsyncSamples = 0;
+
+    public FramePacer(TargetFrameRate target) {
+        this.target = target;
+        updateIntervals();
+    }
+
+    /**
+     * Chooses the refresh rate for the given display (null = assume 60 Hz)
+     */
+    public void configure(Display display, TargetFrameRate target) {
+        this.target = target;
+        float currentRate = display != null ? display.getRefreshRate() : DEFAULT_REFRESH_RATE;
+        if (currentRate <= 0) {
+            currentRate = DEFAULT_REFRESH_RATE;
+        }
+
+        // At half rate keep the panel where it is and skip every other vsync
+        Display.Mode mode = target == TargetFrameRate.HALF_RATE
+                ? null
+                : selectMode(display, target.getFramesPerSecond());
+        displayRefreshRate = mode != null ? mode.getRefreshRate() : currentRate;
+        preferredModeId = mode != null ? mode.getModeId() : 0;
+        resetVsyncMeasurement();
+        updateIntervals();
+    }
+
+    /**
+     * Picks a supported display mode for the target: an exact multiple of the target if
+     * there is one, otherwise the lowest rate above the target, otherwise the highest below.
+     *
+     * @return The mode, or null to keep the current one
+     */
+    private Display.Mode selectMode(Display display, float targetRate) {
+        if (display == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return null;
+        }
+
+        Display.Mode currentMode = display.getMode();
+        Display.Mode[] modes = display.getSupportedModes();
+        if (currentMode == null || modes == null) {
+            return null;
+        }
+
+        Display.Mode multiple = null;
+        Display.Mode above = null;
+        Display.Mode below = null;
+        for (Display.Mode mode : modes) {
+            // Only consider modes at the current resolution
+            if (mode.getPhysicalWidth() != currentMode.getPhysicalWidth() ||
+                    mode.getPhysicalHeight() != currentMode.getPhysicalHeight()) {
+                continue;
+            }
+            float rate = mode.getRefreshRate();
+            float ratio = rate / targetRate;
+            if (ratio >= 1f && Math.abs(ratio - Math.round(ratio)) < 0.01f) {
+                if (multiple == null || rate < multiple.getRefreshRate()) {
+                    multiple = mode;
+                }
+            } else if (rate > targetRate) {
+                if (above == null || rate < above.getRefreshRate()) {
+                    above = mode;
+                }
+            } else if (below == null || rate > below.getRefreshRate()) {
+                below = mode;
+            }
+        }
+
+        if (multiple != null) {
+            return multiple;
+        } else if (above != null) {
+            return above;
+        }
+        return below;
+    }
+
+    private void updateIntervals() {
+        float requested = target == TargetFrameRate.HALF_RATE
+                ? displayRefreshRate / 2f
+                : Math.min(target.getFramesPerSecond(), displayRefreshRate);
+        // Render on a whole number of vsyncs per frame
+        int vsyncsPerFrame = Math.max(1, Math.round(displayRefreshRate / requested));
+        frameRate = displayRefreshRate / vsyncsPerFrame;
+        vsyncPeriodNanos = (long) (1_000_000_000L / displayRefreshRate);
+        frameIntervalNanos = vsyncPeriodNanos * vsyncsPerFrame;
+    }
+
+    /**
+     * Checks whether a frame should be rendered for this vsync. Call it on every vsync while
+     * frames are running, as the gaps between calls measure the panel's real refresh rate.
+     * @param frameTimeNanos Vsync timestamp from the Choreographer
+     */
+    public boolean shouldRender(long frameTimeNanos) {
+        measureVsync(frameTimeNanos);
+        if (lastFrameTimeNanos == 0) {
+            return true;
+        }
+        // Half a vsync of slack so a frame landing on its expected vsync is never skipped
+        return frameTimeNanos - lastFrameTimeNanos >= frameIntervalNanos - vsyncPeriodNanos / 2;
+    }
+
+    /**
+     * Measures the vsync period from consecutive vsync timestamps. A callback that came a vsync
+     * late only makes a gap longer, so the shortest gap of a batch is the period. When it
+     * disagrees with the rate being paced by (the display never switched, or switched later),
+     * pacing moves to the measured rate.
+     */
+    private void measureVsync(long frameTimeNanos) {
+        if (lastVsyncNanos != 0 && frameTimeNanos > lastVsyncNanos) {
+            shortestVsyncNanos = Math.min(shortestVsyncNanos, frameTimeNanos - lastVsyncNanos);
+            if (++vsyncSamples == VSYNC_SAMPLES) {
+                float measuredRate = 1_000_000_000f / shortestVsyncNanos;
+                if (Math.abs(measuredRate - displayRefreshRate) > displayRefreshRate * RATE_TOLERANCE) {
+                    displayRefreshRate = measuredRate;
+                    updateIntervals();
+                }
+                vsyncSamples = 0;
+                shortestVsyncNanos = Long.MAX_VALUE;
+            }
+        }
+        lastVsyncNanos = frameTimeNanos;
+    }
+
+    private void resetVsyncMeasurement() {
+        lastVsyncNanos = 0;
+        shortestVsyncNanos = Long.MAX_VALUE;
+        vsyncSamples = 0;
+    }
+
+    /**
+     * Marks a frame as rendered
+     * @return Interval since the previous rendered frame in nanoseconds, or 0 for the first frame
+     */
+    public long onFrameRendered(long frameTimeNanos) {
+        long interval = lastFrameTimeNanos == 0 ? 0 : frameTimeNanos - lastFrameTimeNanos;
+        lastFrameTimeNanos = frameTimeNanos;
+        return interval;
+    }
+
+    /**
+     * Forgets the previous frame (e.g. after the loop was stopped)
+     */
+    public void reset() {
+        lastFrameTimeNanos = 0;
+        resetVsyncMeasurement(); // The gap since the last vsync isn't a vsync period
+    }
+
+    /**
+     * Gets the refresh rate frames are paced by: the one picked for the target until the
+     * vsyncs have been measured, then the measured one
+     */
+    public float getDisplayRefreshRate() {
+        return displayRefreshRate;
+    }
+
+    /**
+     * Gets the display mode picked for the target, for the window to request
+     * @return The mode's id, or 0 to leave the display mode alone
+     */
+    public int getPreferredModeId() {
+        return preferredModeId;
+    }
+
+    /**
+     * Gets the effective frame rate (display refresh rate divided by vsyncs per frame)
+     */
+    public float getFrameRate() {
+        return frameRate;
+    }
+
+    public long getFrameIntervalNanos() {
+        return frameIntervalNanos;
+    }
+
+    public TargetFrameRate getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.game;
+
+/**
+ * Histogram of measured frame intervals with 0.5 ms buckets.
+ * Written by the render thread once per frame without allocating;
+ * can be queried from any thread (values may be a frame stale).
+ */
+public class FrameTimeHistogram {
+    private static final long BUCKET_NANOS = 500_000L; // 0.5 ms per bucket
+    private static final int BUCKET_COUNT = 200; // Up to 100 ms, longer frames go in the last bucket
+
+    private final int[] buckets = new int[BUCKET_COUNT];
+    private volatile int count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+    private int missedFrames = 0;
+    private long targetIntervalNanos = 0;
+
+    /**
+     * Sets the interval a frame is expected to take. Frames that take
+     * noticeably longer than this are counted as missed.
+     */
+    public void setTargetInterval(long targetIntervalNanos) {
+        this.targetIntervalNanos = targetIntervalNanos;
+    }
+
+    /**
+     * Records one measured frame interval
+     */
+    public void record(long intervalNanos) {
+        if (intervalNanos < 0) {
+            return;
+        }
+        int bucket = (int) Math.min(intervalNanos / BUCKET_NANOS, BUCKET_COUNT - 1);
+        buckets[bucket]++;
+        totalNanos += intervalNanos;
+        if (intervalNanos > maxNanos) {
+            maxNanos = intervalNanos;
+        }
+        // More than 1.5 target intervals means at least one vsync was missed
+        if (targetIntervalNanos > 0 && intervalNanos * 2 > targetIntervalNanos * 3) {
+            missedFrames++;
+        }
+        count++;
+    }
+
+    /**
+     * Gets the frame time below which the given fraction of frames fall
+     * @param percentile Percentile to query (0-100)
+     * @return Frame time in milliseconds (upper edge of the matching bucket)
+     */
+    public float getPercentileMillis(float percentile) {
+        int total = count;
+        if (total == 0) {
+            return 0f;
+        }
+        int threshold = (int) Math.ceil(total * percentile / 100f);
+        int seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= threshold) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000f;
+            }
+        }
+        return BUCKET_COUNT * BUCKET_NANOS / 1_000_000f;
+    }
+
+    public float getAverageMillis() {
+        int total = count;
+        return total == 0 ? 0f : totalNanos / (total * 1_000_000f);
+    }
+
+    public float getMaxMillis() {
+        return maxNanos / 1_000_000f;
+    }
+
+    public int getFrameCount() {
+        return count;
+    }
+
+    public int getMissedFrames() {
+        return missedFrames;
+    }
+
+    /**
+     * Clears all recorded frames
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = 0;
+        }
+        totalNanos = 0;
+        maxNanos = 0;
+        missedFrames = 0;
+        count = 0;
+    }
+}
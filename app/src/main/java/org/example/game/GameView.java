@@ -1,19 +1,51 @@
 package org.example.game;
 
+import android.app.Activity;
 import android.content.Context;
 import android.graphics.Canvas;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.AttributeSet;
+import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.Surface;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import android.view.View;
+import android.view.Window;
+import android.view.WindowManager;
 
-import org.example.entities.Player;
 import org.example.entities.Teacher;
 
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class GameView extends SurfaceView implements SurfaceHolder.Callback {
+    private static final String TAG = "GameView";
+    
     private GameEngine gameEngine;
-    private GameThread gameThread;
+    private WorldRenderer worldRenderer;
+    private final SnapshotBuffer snapshotBuffer = new SnapshotBuffer();
+    private SimulationLoop simulationLoop;
+    private Thread simulationThread;
+    private volatile RenderThread renderThread;
+    private GameClock clock = GameClock.SYSTEM;
+    private GameEventListener gameEventListener;
+    private TargetFrameRate targetFrameRate = TargetFrameRate.FPS_60;
+    private final FramePacer framePacer = new FramePacer(TargetFrameRate.FPS_60);
+    private long pacedIntervalNanos; // Frame interval the histograms and render scale budget were set for
+    private final FrameTimeHistogram frameTimeHistogram = new FrameTimeHistogram(); // Measured render intervals
+    private volatile RenderBackend renderBackend = RenderBackend.AUTO.resolve(-1f, -1f);
+    private volatile RenderBackend activeRenderBackend = renderBackend;
+    private volatile boolean renderTimeMeasured = false;
+    private final FrameTimeHistogram renderTimeHistogram = new FrameTimeHistogram(); // Time to draw and post a frame
+    private final RenderScaleController renderScaleController = new RenderScaleController();
+    private volatile boolean adaptiveRenderScale = false;
+    private volatile int viewWidth;
+    private volatile int viewHeight;
     private float lastTouchX;
     private float lastTouchY;
     private long lastTapTime = 0;
@@ -21,6 +53,7 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     private boolean isPanning = false;
     private float panStartX;
     private float panStartY;
+    private ScaleGestureDetector scaleGestureDetector;
     
     public GameView(Context context) {
         super(context);
@@ -35,6 +68,32 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     private void init() {
         getHolder().addCallback(this);
         setFocusable(true);
+        scaleGestureDetector = new ScaleGestureDetector(getContext(), new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScaleBegin(ScaleGestureDetector detector) {
+                // A pinch is never a tap, so lifting the fingers doesn't switch camera modes
+                isPanning = true;
+                return true;
+            }
+            
+            @Override
+            public boolean onScale(ScaleGestureDetector detector) {
+                if (gameEngine != null) {
+                    gameEngine.zoomCamera(detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY());
+                }
+                return true; // The next factor is relative to this event
+            }
+        });
+    }
+    
+    /**
+     * Sets the camera zoom: screen pixels per world pixel, 1 for the normal view, lower to see
+     * more of the school. Zooming out stops once the whole school fits on screen.
+     */
+    public void setCameraZoom(float zoom) {
+        if (gameEngine != null) {
+            gameEngine.setCameraZoom(zoom);
+        }
     }
     
     @Override
@@ -47,30 +106,251 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
                 width = 1080;
                 height = 1920;
             }
-            gameEngine = new GameEngine(width, height, getContext());
+            SpriteManager spriteManager = SpriteManager.getInstance(getContext());
+            gameEngine = new GameEngine(width, height, spriteManager);
+            worldRenderer = new WorldRenderer(gameEngine, spriteManager);
+            // Deliver game events on the UI thread
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            gameEngine.setEventExecutor(mainHandler::post);
+            gameEngine.getCommandQueue().setClock(clock);
+            if (gameEventListener != null) {
+                gameEngine.addGameEventListener(gameEventListener);
+            }
+        }
+        configureFrameRate(holder);
+        startThreads();
+    }
+    
+    /**
+     * Starts the simulation thread and the render thread
+     */
+    private void startThreads() {
+        if (simulationThread == null) {
+            simulationLoop = new SimulationLoop(gameEngine, snapshotBuffer, clock);
+            simulationLoop.setPublishListener(this::requestRender);
+            simulationThread = new Thread(simulationLoop, "SimulationThread");
+            simulationThread.start();
+        }
+        if (renderThread == null) {
+            if (activeRenderBackend != renderBackend) {
+                // The backend changed since the last surface, the old measurements don't apply
+                activeRenderBackend = renderBackend;
+                renderTimeHistogram.reset();
+            }
+            renderThread = new RenderThread(getHolder(), simulationLoop.getStepNanos());
+            renderThread.setRunning(true);
+            renderThread.start();
+        }
+    }
+    
+    /**
+     * Picks the refresh rate for the target frame rate and asks the display for it
+     */
+    private void configureFrameRate(SurfaceHolder holder) {
+        framePacer.configure(getDisplay(), targetFrameRate);
+        framePacer.reset();
+        applyFrameInterval();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            Surface surface = holder.getSurface();
+            if (surface != null && surface.isValid()) {
+                surface.setFrameRate(framePacer.getFrameRate(), Surface.FRAME_RATE_COMPATIBILITY_DEFAULT);
+            }
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            requestDisplayMode(framePacer.getPreferredModeId());
+        }
+    }
+    
+    /**
+     * Asks the window for a display mode (0 = no preference); before Android 11 there is no
+     * per-surface frame rate to set
+     */
+    private void requestDisplayMode(int modeId) {
+        Context context = getContext();
+        if (!(context instanceof Activity)) {
+            return;
+        }
+        Window window = ((Activity) context).getWindow();
+        WindowManager.LayoutParams params = window.getAttributes();
+        if (params.preferredDisplayModeId != modeId) {
+            params.preferredDisplayModeId = modeId;
+            window.setAttributes(params);
+        }
+    }
+    
+    /**
+     * Points the frame time targets and the render scale budget at the pacer's frame interval
+     */
+    private void applyFrameInterval() {
+        pacedIntervalNanos = framePacer.getFrameIntervalNanos();
+        frameTimeHistogram.setTargetInterval(pacedIntervalNanos);
+        renderTimeHistogram.setTargetInterval(pacedIntervalNanos);
+        renderScaleController.setBudget(pacedIntervalNanos);
+    }
+    
+    /**
+     * Sets the listener for game events. Callbacks run on the UI thread.
+     */
+    public void setGameEventListener(GameEventListener listener) {
+        if (gameEngine != null) {
+            if (gameEventListener != null) {
+                gameEngine.removeGameEventListener(gameEventListener);
+            }
+            if (listener != null) {
+                gameEngine.addGameEventListener(listener);
+            }
         }
-        if (gameThread == null) {
-            gameThread = new GameThread(getHolder(), this);
-            gameThread.setRunning(true);
-            gameThread.start();
+        this.gameEventListener = listener;
+    }
+    
+    /**
+     * Sets the frame rate to render at. Takes effect the next time the surface is created.
+     */
+    public void setTargetFrameRate(TargetFrameRate targetFrameRate) {
+        this.targetFrameRate = targetFrameRate;
+    }
+    
+    /**
+     * Sets how frames are drawn. {@link RenderBackend#AUTO} picks hardware when the device supports it;
+     * resolve it with measurements first to pick the faster one. Takes effect the next time the surface is created.
+     */
+    public void setRenderBackend(RenderBackend renderBackend) {
+        this.renderBackend = renderBackend.resolve(-1f, -1f);
+    }
+    
+    /**
+     * Turns on adaptive render resolution: when frames take too long to draw, the world is drawn
+     * into a smaller surface buffer that the compositor scales up to the view. Takes effect the
+     * next time the surface is created.
+     */
+    public void setAdaptiveRenderScale(boolean adaptive) {
+        this.adaptiveRenderScale = adaptive;
+    }
+    
+    /**
+     * Sizes the surface buffer for the render scale. UI thread only.
+     */
+    private void applyRenderScale(float scale) {
+        int width = getWidth();
+        int height = getHeight();
+        if (scale >= RenderScaleController.MAX_SCALE || width == 0 || height == 0) {
+            getHolder().setSizeFromLayout();
+        } else {
+            getHolder().setFixedSize(Math.max(1, Math.round(width * scale)), Math.max(1, Math.round(height * scale)));
         }
     }
     
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        viewWidth = width;
+        viewHeight = height;
+        if (adaptiveRenderScale) {
+            applyRenderScale(renderScaleController.getScale());
+        }
+    }
+    
+    /**
+     * Gets the backend frames are drawn with. This is software if the hardware canvas failed.
+     */
+    public RenderBackend getActiveRenderBackend() {
+        return activeRenderBackend;
+    }
+    
+    /**
+     * Turns on timing how long each frame takes to draw and post, see {@link #getRenderTimeHistogram()};
+     * the draw times and the frame intervals are logged when the surface goes away
+     */
+    public void setRenderTimeMeasured(boolean measured) {
+        this.renderTimeMeasured = measured;
+    }
+    
+    /**
+     * Gets the histogram of frame draw times with the active backend (filled while measuring)
+     */
+    public FrameTimeHistogram getRenderTimeHistogram() {
+        return renderTimeHistogram;
+    }
+    
     @Override
     public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
-        if (gameEngine != null && width > 0 && height > 0) {
+        // With a lowered render scale the surface is smaller than the view; the camera still shows the view's area
+        int viewportWidth = viewWidth > 0 ? viewWidth : width;
+        int viewportHeight = viewHeight > 0 ? viewHeight : height;
+        if (gameEngine != null && viewportWidth > 0 && viewportHeight > 0) {
             // Update camera viewport when screen size changes
-            gameEngine.updateViewport(width, height);
+            gameEngine.updateViewport(viewportWidth, viewportHeight);
+        }
+        requestRender();
+    }
+    
+    /**
+     * Pauses the game when the Activity goes to the background. The simulation
+     * thread parks and the render thread stops drawing once the paused frame is shown.
+     */
+    public void onPause() {
+        if (gameEngine != null) {
+            gameEngine.setState(GameState.PAUSED);
+        }
+    }
+    
+    /**
+     * Resumes the game if it was paused by {@link #onPause()}
+     */
+    public void onResume() {
+        if (gameEngine != null) {
+            gameEngine.resumeFromPause();
+        }
+    }
+    
+    /**
+     * Asks the render thread to draw the latest snapshot even if the game is idle.
+     * Safe to call from any thread.
+     */
+    private void requestRender() {
+        RenderThread thread = renderThread;
+        if (thread != null) {
+            thread.requestRender();
         }
     }
     
     @Override
     public void surfaceDestroyed(SurfaceHolder holder) {
+        // Stop rendering first: the surface must not be drawn to after this returns
+        if (renderThread != null) {
+            renderThread.setRunning(false);
+            joinQuietly(renderThread);
+            renderThread = null;
+        }
+        if (simulationThread != null) {
+            simulationLoop.stop();
+            joinQuietly(simulationThread);
+            simulationThread = null;
+            simulationLoop = null;
+        }
+        if (worldRenderer != null) {
+            worldRenderer.release();
+        }
+        if (renderTimeMeasured && renderTimeHistogram.getFrameCount() > 0) {
+            Log.i(TAG, String.format(Locale.ROOT,
+                    "Render time (%s, %d frames): avg %.2f ms, p50 %.1f ms, p95 %.1f ms, max %.1f ms",
+                    activeRenderBackend, renderTimeHistogram.getFrameCount(), renderTimeHistogram.getAverageMillis(),
+                    renderTimeHistogram.getPercentileMillis(50), renderTimeHistogram.getPercentileMillis(95),
+                    renderTimeHistogram.getMaxMillis()));
+        }
+        if (renderTimeMeasured && frameTimeHistogram.getFrameCount() > 0) {
+            Log.i(TAG, String.format(Locale.ROOT,
+                    "Frame pacing (%s, display %.0f Hz, %d frames): avg %.2f ms, p95 %.1f ms, max %.1f ms, %d missed",
+                    framePacer.getTarget(), framePacer.getDisplayRefreshRate(), frameTimeHistogram.getFrameCount(),
+                    frameTimeHistogram.getAverageMillis(), frameTimeHistogram.getPercentileMillis(95),
+                    frameTimeHistogram.getMaxMillis(), frameTimeHistogram.getMissedFrames()));
+        }
+    }
+    
+    private static void joinQuietly(Thread thread) {
         boolean retry = true;
-        gameThread.setRunning(false);
         while (retry) {
             try {
-                gameThread.join();
+                thread.join();
                 retry = false;
             } catch (InterruptedException e) {
                 e.printStackTrace();
@@ -78,18 +358,12 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         }
     }
     
-    public void update() {
-        if (gameEngine != null) {
-            gameEngine.update();
-        }
-    }
-    
-    @Override
-    public void draw(Canvas canvas) {
-        super.draw(canvas);
-        if (gameEngine != null) {
-            gameEngine.draw(canvas);
-        }
+    /**
+     * Sets the time source used by the simulation and for render interpolation.
+     * Must be called before the surface is created.
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
     }
     
     @Override
@@ -104,6 +378,14 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         
         int action = event.getAction();
         
+        // Two fingers pinch to zoom; pan from wherever the remaining finger is afterwards
+        scaleGestureDetector.onTouchEvent(event);
+        if (scaleGestureDetector.isInProgress() || event.getPointerCount() > 1) {
+            lastTouchX = x;
+            lastTouchY = y;
+            return true;
+        }
+        
         // Check if touch is on a bonus icon first
         if (action == MotionEvent.ACTION_DOWN) {
             // Check for double-tap to toggle vision cone visualization (debug mode)
@@ -186,18 +468,11 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
             return;
         }
         
-        Player player = gameEngine.getPlayer();
-        if (player == null) {
-            return;
-        }
-        
         // Use a threshold to prevent tiny movements
         float threshold = 0.1f;
         
-        player.setMovingUp(yPercent < -threshold);
-        player.setMovingDown(yPercent > threshold);
-        player.setMovingLeft(xPercent < -threshold);
-        player.setMovingRight(xPercent > threshold);
+        gameEngine.setPlayerMovement(yPercent < -threshold, yPercent > threshold,
+                xPercent < -threshold, xPercent > threshold);
     }
     
     public void handleJoystickRelease() {
@@ -205,57 +480,176 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
             return;
         }
         
-        Player player = gameEngine.getPlayer();
-        if (player != null) {
-            player.stopMovement();
-        }
+        gameEngine.setPlayerMovement(false, false, false, false);
+    }
+    
+    /**
+     * Gets the histogram of measured frame intervals (filled by the render loop)
+     */
+    public FrameTimeHistogram getFrameTimeHistogram() {
+        return frameTimeHistogram;
     }
     
     public GameEngine getGameEngine() {
         return gameEngine;
     }
     
-    private class GameThread extends Thread {
-        private SurfaceHolder surfaceHolder;
-        private GameView gameView;
-        private boolean running;
+    /**
+     * Render loop driven by Choreographer vsync callbacks on its own Looper thread.
+     * Draws the latest snapshot published by the simulation thread. While the game
+     * isn't PLAYING it stops asking for vsync and only draws again when invalidated.
+     */
+    private class RenderThread extends Thread implements Choreographer.FrameCallback {
+        private final SurfaceHolder surfaceHolder;
+        private final long stepNanos;
+        private final AtomicBoolean idle = new AtomicBoolean(false);
+        private final Runnable resumeFrames = this::resumeFrames;
+        private volatile boolean running;
+        private volatile boolean redrawRequested = true;
+        private volatile Looper looper;
+        private volatile Handler handler;
         
-        public GameThread(SurfaceHolder holder, GameView view) {
-            surfaceHolder = holder;
-            gameView = view;
+        public RenderThread(SurfaceHolder holder, long stepNanos) {
+            super("RenderThread");
+            this.surfaceHolder = holder;
+            this.stepNanos = stepNanos;
         }
         
         public void setRunning(boolean running) {
             this.running = running;
+            Looper currentLooper = looper;
+            if (!running && currentLooper != null) {
+                currentLooper.quit();
+            }
         }
         
         @Override
         public void run() {
-            Canvas canvas;
-            while (running) {
-                canvas = null;
-                try {
-                    canvas = surfaceHolder.lockCanvas();
-                    synchronized (surfaceHolder) {
-                        if (canvas != null) {
-                            gameView.update();
-                            gameView.draw(canvas);
-                        }
-                    }
-                } finally {
+            Looper.prepare();
+            looper = Looper.myLooper();
+            handler = new Handler(looper);
+            if (!running) {
+                return;
+            }
+            Choreographer.getInstance().postFrameCallback(this);
+            Looper.loop();
+        }
+        
+        /**
+         * Marks the frame as dirty and restarts vsync callbacks if the thread is idle
+         */
+        public void requestRender() {
+            redrawRequested = true;
+            Handler currentHandler = handler;
+            if (currentHandler != null && idle.compareAndSet(true, false)) {
+                currentHandler.post(resumeFrames);
+            }
+        }
+        
+        private void resumeFrames() {
+            framePacer.reset(); // Don't count the idle time as one long frame
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+        
+        /**
+         * Stops asking for vsync until {@link #requestRender()} is called
+         */
+        private void goIdle() {
+            idle.set(true);
+            // Something may have been invalidated while we were deciding
+            if ((redrawRequested || snapshotBuffer.hasUnread()) && idle.compareAndSet(true, false)) {
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+        
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+            boolean fresh = snapshotBuffer.hasUnread();
+            WorldSnapshot snapshot = snapshotBuffer.acquireLatest();
+            boolean animating = snapshot == null || snapshot.state == GameState.PLAYING;
+            boolean dirty = fresh || redrawRequested;
+            redrawRequested = false;
+            
+            if (animating) {
+                // Ask for the next vsync first so a slow frame doesn't push it back
+                Choreographer.getInstance().postFrameCallback(this);
+                boolean render = framePacer.shouldRender(frameTimeNanos);
+                if (framePacer.getFrameIntervalNanos() != pacedIntervalNanos) {
+                    // The panel isn't running at the rate that was asked for
+                    applyFrameInterval();
+                }
+                if (!render) {
+                    return;
+                }
+                long interval = framePacer.onFrameRendered(frameTimeNanos);
+                if (interval > 0) {
+                    frameTimeHistogram.record(interval);
+                }
+            } else {
+                // Idle frames are drawn once per invalidation, then the loop goes quiet
+                goIdle();
+                if (!dirty) {
+                    return;
+                }
+            }
+            
+            if (snapshot == null) {
+                return; // Simulation hasn't published yet
+            }
+            // Interpolate from the previous step towards the latest one by how far
+            // real time has moved past the latest step
+            float alpha = (float) (clock.nanoTime() - snapshot.stepTimeNanos) / stepNanos;
+            alpha = Math.max(0f, Math.min(1f, alpha));
+            
+            long drawStart = System.nanoTime();
+            Canvas canvas = null;
+            try {
+                canvas = lockCanvas();
+                synchronized (surfaceHolder) {
                     if (canvas != null) {
-                        surfaceHolder.unlockCanvasAndPost(canvas);
+                        // The buffer may be smaller than the view, see applyRenderScale
+                        int width = viewWidth;
+                        float renderScale = width > 0 ? canvas.getWidth() / (float) width : 1f;
+                        worldRenderer.draw(canvas, snapshot, alpha, renderScale);
                     }
                 }
-                
-                // Control frame rate (target 60 FPS)
+            } finally {
+                if (canvas != null) {
+                    surfaceHolder.unlockCanvasAndPost(canvas);
+                }
+            }
+            if (canvas == null) {
+                return;
+            }
+            long drawNanos = System.nanoTime() - drawStart;
+            if (renderTimeMeasured) {
+                renderTimeHistogram.record(drawNanos);
+            }
+            if (adaptiveRenderScale && animating && renderScaleController.onFrameDrawn(drawNanos)) {
+                float scale = renderScaleController.getScale();
+                post(() -> applyRenderScale(scale));
+            }
+        }
+        
+        /**
+         * Locks a canvas of the active backend. If the hardware canvas can't be had,
+         * falls back to software for the rest of the game.
+         */
+        private Canvas lockCanvas() {
+            if (activeRenderBackend == RenderBackend.HARDWARE) {
                 try {
-                    Thread.sleep(16);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    return surfaceHolder.lockHardwareCanvas();
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    Log.w(TAG, "Hardware canvas unavailable, drawing in software", e);
+                    activeRenderBackend = RenderBackend.SOFTWARE;
+                    renderBackend = RenderBackend.SOFTWARE;
+                    renderTimeHistogram.reset();
                 }
             }
+            return surfaceHolder.lockCanvas();
         }
     }
 }
-
@@ -0,0 +1,405 @@
+package org.example.game;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import org.example.bonuses.Bonus;
+
+import java.text.DecimalFormatSymbols;
+
+/**
+ * The HUD (score, rescued friends, bonus icons, principal timer and bonus message), drawn in
+ * screen space. Its contents change only a few times per level, so it is drawn into a cached
+ * bitmap when something it shows changes, and most frames just blit that bitmap. On a hardware
+ * canvas it is recorded into a RenderNode instead, which the GPU replays without a texture upload.
+ * Numbers are formatted into reused char buffers, so drawing allocates nothing. Render thread only.
+ */
+class HudLayer {
+    // Bonus icon layout must match GameEngine.handleBonusTouch
+    private static final float BONUS_ICON_SIZE = GameEngine.BONUS_ICON_SIZE;
+    private static final float BONUS_ICON_SPACING = GameEngine.BONUS_ICON_SPACING;
+    private static final float BONUS_ICON_MARGIN = GameEngine.BONUS_ICON_MARGIN;
+    private static final int BONUS_NAME_MAX_LENGTH = 8;
+    // Bottom of the lowest text (the bonus description), including descenders
+    private static final int TEXT_BOTTOM = 290;
+
+    private final Paint textPaint;
+    private final Paint bonusEffectPaint;
+    private final Paint timerPaint;
+    private final Paint timerBackgroundPaint;
+    private final Paint bonusPaint;
+    private final Paint bonusBackgroundPaint;
+    private final Paint descriptionPaint;
+    private final Paint iconBackgroundPaint;
+    private final Paint iconBorderPaint;
+    private final Paint iconLetterPaint;
+    private final Paint iconNamePaint;
+    private final Paint blitPaint = new Paint(Paint.FILTER_BITMAP_FLAG); // Smooths the HUD when the render scale is lowered
+    private final char decimalSeparator;
+
+    private final TextBuffer text = new TextBuffer();
+    private final Canvas hudCanvas = new Canvas();
+    private Bitmap hudBitmap;
+    private RenderNode hudNode;
+
+    // What the cached bitmap shows
+    private boolean valid = false;
+    private boolean drawnOnHardware;
+    private int drawnWidth;
+    private int drawnScore;
+    private int drawnFriendsRescued;
+    private int drawnTotalFriends;
+    private int drawnTeachersAway;
+    private int drawnBonusCount;
+    private Bonus[] drawnBonuses = new Bonus[8];
+    private String drawnBonusMessage;
+    private int drawnTimerTenths;
+
+    /**
+     * Fixed-size text assembled without allocating, for drawText(char[], ...)
+     */
+    private static class TextBuffer {
+        final char[] chars = new char[64];
+        int length;
+
+        TextBuffer clear() {
+            length = 0;
+            return this;
+        }
+
+        TextBuffer append(String value) {
+            int count = Math.min(value.length(), chars.length - length);
+            value.getChars(0, count, chars, length);
+            length += count;
+            return this;
+        }
+
+        TextBuffer append(char value) {
+            if (length < chars.length) {
+                chars[length++] = value;
+            }
+            return this;
+        }
+
+        TextBuffer append(int value) {
+            if (value < 0) {
+                append('-');
+                value = -value;
+            }
+            int start = length;
+            do {
+                append((char) ('0' + value % 10));
+                value /= 10;
+            } while (value > 0);
+            // Digits were written least significant first
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                char digit = chars[i];
+                chars[i] = chars[j];
+                chars[j] = digit;
+            }
+            return this;
+        }
+    }
+
+    HudLayer() {
+        textPaint = new Paint();
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextSize(40);
+        textPaint.setAntiAlias(true);
+
+        bonusEffectPaint = new Paint();
+        bonusEffectPaint.setColor(Color.rgb(0, 200, 0)); // Green for positive effect
+        bonusEffectPaint.setTextSize(35);
+        bonusEffectPaint.setAntiAlias(true);
+
+        timerPaint = new Paint();
+        timerPaint.setColor(Color.rgb(255, 100, 100)); // Red color for urgency
+        timerPaint.setTextSize(60);
+        timerPaint.setAntiAlias(true);
+        timerPaint.setStyle(Paint.Style.FILL);
+        timerPaint.setFakeBoldText(true);
+
+        timerBackgroundPaint = new Paint();
+        timerBackgroundPaint.setColor(Color.argb(220, 0, 0, 0)); // Semi-transparent black
+        timerBackgroundPaint.setStyle(Paint.Style.FILL);
+
+        bonusPaint = new Paint();
+        bonusPaint.setColor(Color.rgb(255, 215, 0)); // Gold color
+        bonusPaint.setTextSize(50);
+        bonusPaint.setAntiAlias(true);
+        bonusPaint.setStyle(Paint.Style.FILL);
+        bonusPaint.setFakeBoldText(true);
+
+        bonusBackgroundPaint = new Paint();
+        bonusBackgroundPaint.setColor(Color.argb(200, 0, 0, 0)); // Semi-transparent black
+        bonusBackgroundPaint.setStyle(Paint.Style.FILL);
+
+        descriptionPaint = new Paint();
+        descriptionPaint.setColor(Color.WHITE);
+        descriptionPaint.setTextSize(30);
+        descriptionPaint.setAntiAlias(true);
+
+        iconBackgroundPaint = new Paint();
+        iconBackgroundPaint.setStyle(Paint.Style.FILL);
+
+        iconBorderPaint = new Paint();
+        iconBorderPaint.setStyle(Paint.Style.STROKE);
+        iconBorderPaint.setStrokeWidth(3f);
+        iconBorderPaint.setColor(Color.BLACK);
+
+        iconLetterPaint = new Paint();
+        iconLetterPaint.setColor(Color.WHITE);
+        iconLetterPaint.setTextSize(20);
+        iconLetterPaint.setAntiAlias(true);
+        iconLetterPaint.setTextAlign(Paint.Align.CENTER);
+        iconLetterPaint.setFakeBoldText(true);
+
+        iconNamePaint = new Paint();
+        iconNamePaint.setColor(Color.BLACK);
+        iconNamePaint.setTextSize(18);
+        iconNamePaint.setAntiAlias(true);
+        iconNamePaint.setTextAlign(Paint.Align.CENTER);
+
+        // The timer used to be formatted with String.format, which follows the locale
+        decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    }
+
+    /**
+     * Draws the HUD in screen coordinates, re-rendering the cached bitmap only if its contents changed
+     *
+     * @param width  Width of the screen in the canvas's coordinates
+     * @param height Height of the screen in the canvas's coordinates
+     */
+    void draw(Canvas canvas, WorldSnapshot snapshot, int width, int height) {
+        boolean hardware = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated();
+        if (!valid || hardware != drawnOnHardware || hasChanged(snapshot, width)) {
+            drawnOnHardware = hardware;
+            if (hardware) {
+                record(snapshot, width, height);
+            } else {
+                render(snapshot, width, height);
+            }
+        }
+        if (hardware) {
+            canvas.drawRenderNode(hudNode);
+        } else {
+            canvas.drawBitmap(hudBitmap, 0, 0, blitPaint);
+        }
+    }
+
+    private boolean hasChanged(WorldSnapshot snapshot, int width) {
+        if (width != drawnWidth || snapshot.score != drawnScore || snapshot.friendsRescued != drawnFriendsRescued
+                || snapshot.totalFriends != drawnTotalFriends || snapshot.teachersAway != drawnTeachersAway
+                || getVisibleBonusMessage(snapshot) != drawnBonusMessage
+                || getTimerTenths(snapshot) != drawnTimerTenths || snapshot.bonusCount != drawnBonusCount) {
+            return true;
+        }
+        for (int i = 0; i < snapshot.bonusCount; i++) {
+            if (snapshot.bonuses[i] != drawnBonuses[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getVisibleBonusMessage(WorldSnapshot snapshot) {
+        return snapshot.bonusMessageTimer > 0 ? snapshot.bonusMessage : null;
+    }
+
+    /**
+     * Gets the principal timer as shown (tenths of a second), or -1 when it isn't shown
+     */
+    private static int getTimerTenths(WorldSnapshot snapshot) {
+        if (!snapshot.principalBonusActive || snapshot.principalBonusRemaining <= 0) {
+            return -1;
+        }
+        return Math.round(snapshot.principalBonusRemaining * 10);
+    }
+
+    /**
+     * Gets a height that fits the text and the column of bonus icons
+     */
+    private static int getHeight(WorldSnapshot snapshot, int maxHeight) {
+        int iconsBottom = (int) Math.ceil(BONUS_ICON_MARGIN + (snapshot.bonusCount - 1) * BONUS_ICON_SPACING
+                + BONUS_ICON_SIZE + 28);
+        return Math.max(1, Math.min(maxHeight, Math.max(TEXT_BOTTOM, iconsBottom)));
+    }
+
+    /**
+     * Records the HUD into the render node (hardware canvases, API 29+)
+     */
+    private void record(WorldSnapshot snapshot, int width, int maxHeight) {
+        remember(snapshot, width);
+        int height = getHeight(snapshot, maxHeight);
+        if (hudNode == null) {
+            hudNode = new RenderNode("HUD");
+        }
+        hudNode.setPosition(0, 0, width, height);
+        RecordingCanvas recordingCanvas = hudNode.beginRecording(width, height);
+        try {
+            drawContents(recordingCanvas, snapshot, width);
+        } finally {
+            hudNode.endRecording();
+        }
+        valid = true;
+    }
+
+    /**
+     * Draws the HUD into the cached bitmap (software canvases)
+     */
+    private void render(WorldSnapshot snapshot, int width, int maxHeight) {
+        remember(snapshot, width);
+        int height = getHeight(snapshot, maxHeight);
+        if (hudBitmap == null || hudBitmap.getWidth() != width || hudBitmap.getHeight() < height) {
+            if (hudBitmap != null) {
+                BitmapPool.getInstance().release(hudBitmap);
+            }
+            hudBitmap = BitmapPool.getInstance().obtain(Math.max(1, width), height, Bitmap.Config.ARGB_8888);
+        }
+        hudBitmap.eraseColor(Color.TRANSPARENT);
+        hudCanvas.setBitmap(hudBitmap);
+        drawContents(hudCanvas, snapshot, width);
+        hudCanvas.setBitmap(null);
+        valid = true;
+    }
+
+    private void remember(WorldSnapshot snapshot, int width) {
+        drawnWidth = width;
+        drawnScore = snapshot.score;
+        drawnFriendsRescued = snapshot.friendsRescued;
+        drawnTotalFriends = snapshot.totalFriends;
+        drawnTeachersAway = snapshot.teachersAway;
+        drawnBonusMessage = getVisibleBonusMessage(snapshot);
+        drawnTimerTenths = getTimerTenths(snapshot);
+        drawnBonusCount = snapshot.bonusCount;
+        if (drawnBonuses.length < snapshot.bonusCount) {
+            drawnBonuses = new Bonus[snapshot.bonuses.length];
+        }
+        System.arraycopy(snapshot.bonuses, 0, drawnBonuses, 0, snapshot.bonusCount);
+    }
+
+    private void drawContents(Canvas canvas, WorldSnapshot snapshot, int width) {
+        text.clear().append("Score: ").append(snapshot.score);
+        canvas.drawText(text.chars, 0, text.length, 20, 60, textPaint);
+        text.clear().append("Rescued: ").append(snapshot.friendsRescued).append('/').append(snapshot.totalFriends);
+        canvas.drawText(text.chars, 0, text.length, 20, 110, textPaint);
+
+        // Show active bonus effect indicator
+        if (snapshot.teachersAway > 0) {
+            text.clear().append("Teachers away: ").append(snapshot.teachersAway);
+            canvas.drawText(text.chars, 0, text.length, 20, 160, bonusEffectPaint);
+        }
+
+        // Draw collected bonus icons on the right/top
+        drawBonusIcons(canvas, snapshot, width);
+
+        // Draw principal bonus countdown timer (middle/top position)
+        int timerTenths = getTimerTenths(snapshot);
+        if (timerTenths >= 0) {
+            text.clear().append(timerTenths / 10).append(decimalSeparator).append(timerTenths % 10);
+            float textWidth = timerPaint.measureText(text.chars, 0, text.length);
+            float padding = 30f;
+            float bgLeft = width / 2 - textWidth / 2 - padding;
+            float bgRight = width / 2 + textWidth / 2 + padding;
+            canvas.drawRect(bgLeft, 50f, bgRight, 130f, timerBackgroundPaint);
+            canvas.drawText(text.chars, 0, text.length, width / 2 - textWidth / 2, 110, timerPaint);
+        }
+
+        // Draw bonus message if active
+        String bonusMessage = getVisibleBonusMessage(snapshot);
+        if (bonusMessage != null) {
+            float textWidth = bonusPaint.measureText(bonusMessage);
+            float padding = 20f;
+            float bgLeft = width / 2 - textWidth / 2 - padding;
+            float bgRight = width / 2 + textWidth / 2 + padding;
+            canvas.drawRect(bgLeft, 150f, bgRight, 280f, bonusBackgroundPaint);
+            canvas.drawText(bonusMessage, width / 2 - textWidth / 2, 250, bonusPaint);
+
+            // Show what the bonus does
+            String bonusDescription = getBonusDescription(bonusMessage);
+            if (bonusDescription != null) {
+                float descWidth = descriptionPaint.measureText(bonusDescription);
+                canvas.drawText(bonusDescription, width / 2 - descWidth / 2, 280, descriptionPaint);
+            }
+        }
+    }
+
+    private String getBonusDescription(String bonusMessage) {
+        if (bonusMessage.contains("Principal")) {
+            return "All teachers leave to see principal!";
+        } else if (bonusMessage.contains("Parent")) {
+            return "One teacher leaves to talk with parent!";
+        } else if (bonusMessage.contains("Another Teacher")) {
+            return "One teacher leaves to talk with colleague!";
+        }
+        return null;
+    }
+
+    private void drawBonusIcons(Canvas canvas, WorldSnapshot snapshot, int width) {
+        float startX = width - BONUS_ICON_MARGIN - BONUS_ICON_SIZE;
+        float startY = BONUS_ICON_MARGIN;
+
+        for (int i = 0; i < snapshot.bonusCount; i++) {
+            Bonus bonus = snapshot.bonuses[i];
+            float iconY = startY + i * BONUS_ICON_SPACING;
+
+            // Draw icon background and border
+            iconBackgroundPaint.setColor(getBonusColor(bonus));
+            canvas.drawRect(startX, iconY, startX + BONUS_ICON_SIZE, iconY + BONUS_ICON_SIZE, iconBackgroundPaint);
+            canvas.drawRect(startX, iconY, startX + BONUS_ICON_SIZE, iconY + BONUS_ICON_SIZE, iconBorderPaint);
+
+            // Draw bonus letter/icon
+            float textX = startX + BONUS_ICON_SIZE / 2;
+            float textY = iconY + BONUS_ICON_SIZE / 2 + 7; // Center vertically
+            canvas.drawText(getBonusIconText(bonus), textX, textY, iconLetterPaint);
+
+            // Draw bonus name below icon
+            String bonusName = bonus.getName();
+            int nameLength = Math.min(bonusName.length(), BONUS_NAME_MAX_LENGTH);
+            canvas.drawText(bonusName, 0, nameLength, textX, iconY + BONUS_ICON_SIZE + 20, iconNamePaint);
+        }
+    }
+
+    private int getBonusColor(Bonus bonus) {
+        String name = bonus.getName();
+        if (name.contains("Principal")) {
+            return Color.rgb(255, 165, 0); // Orange
+        } else if (name.contains("Parent")) {
+            return Color.rgb(0, 150, 255); // Blue
+        } else if (name.contains("Another Teacher")) {
+            return Color.rgb(150, 0, 255); // Purple
+        }
+        return Color.rgb(200, 200, 200); // Default gray
+    }
+
+    private String getBonusIconText(Bonus bonus) {
+        String name = bonus.getName();
+        if (name.contains("Principal")) {
+            return "P";
+        } else if (name.contains("Parent")) {
+            return "Pa";
+        } else if (name.contains("Another Teacher")) {
+            return "T";
+        }
+        return "?";
+    }
+
+    /**
+     * Gives the cached bitmap back to the pool. The HUD is rendered again on the next draw.
+     */
+    void release() {
+        if (hudBitmap != null) {
+            BitmapPool.getInstance().release(hudBitmap);
+            hudBitmap = null;
+        }
+        if (hudNode != null) {
+            hudNode.discardDisplayList();
+        }
+        valid = false;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.game;
+
+import android.os.Build;
+
+/**
+ * How the game is drawn onto its surface.
+ * Hardware canvases need Android 10, where every call the renderer makes
+ * (drawVertices, RenderNode) is supported by the GPU pipeline.
+ */
+public enum RenderBackend {
+    AUTO, // The faster measured backend, or hardware until both have been measured
+    HARDWARE, // SurfaceHolder.lockHardwareCanvas, drawn by the GPU
+    SOFTWARE; // SurfaceHolder.lockCanvas, drawn by the CPU
+
+    public static boolean isHardwareSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q;
+    }
+
+    /**
+     * Picks the backend to actually draw with
+     *
+     * @param hardwareMillis Measured draw time with the hardware backend, or a negative value if unknown
+     * @param softwareMillis Measured draw time with the software backend, or a negative value if unknown
+     * @return {@link #HARDWARE} or {@link #SOFTWARE}
+     */
+    public RenderBackend resolve(float hardwareMillis, float softwareMillis) {
+        if (this == SOFTWARE || !isHardwareSupported()) {
+            return SOFTWARE;
+        }
+        if (this == AUTO && hardwareMillis >= 0 && softwareMillis >= 0 && softwareMillis < hardwareMillis) {
+            return SOFTWARE;
+        }
+        return HARDWARE;
+    }
+
+    /**
+     * Parses a stored preference value, falling back to {@link #AUTO} for unknown values
+     */
+    public static RenderBackend fromName(String name) {
+        if (name != null) {
+            for (RenderBackend backend : values()) {
+                if (backend.name().equals(name)) {
+                    return backend;
+                }
+            }
+        }
+        return AUTO;
+    }
+}
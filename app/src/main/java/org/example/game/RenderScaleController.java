@@ -0,0 +1,85 @@
+package org.example.game;
+
+/**
+ * Picks the internal render resolution from how long frames take to draw.
+ * The surface buffer is the view size times the scale, and the compositor stretches it to
+ * the screen, so a lower scale saves fill rate on large panels without changing what is shown.
+ *
+ * Draw times are averaged over a window of frames. If the average uses most of the frame budget
+ * the scale steps down; if it uses well under half, it steps back up. Pixels (and roughly the
+ * draw time) grow with the square of the scale, and the thresholds are far enough apart that one
+ * step up can't immediately push a frame over the budget again. Render thread only.
+ */
+class RenderScaleController {
+    static final float MIN_SCALE = 0.5f;
+    static final float MAX_SCALE = 1f;
+    private static final float STEP = 0.125f;
+    private static final int WINDOW_FRAMES = 30;
+    // Frames ignored after a change, while the surface is resized and the new size settles
+    private static final int SETTLE_FRAMES = 30;
+    private static final float LOWER_ABOVE = 0.85f; // Fraction of the budget that makes the scale go down
+    private static final float RAISE_BELOW = 0.5f; // Fraction of the budget that lets the scale go up
+
+    private long budgetNanos;
+    private float scale = MAX_SCALE;
+    private long windowNanos = 0;
+    private int windowFrames = 0;
+    private int settleFrames = 0;
+
+    /**
+     * Sets the time a frame may take to draw, normally the frame interval
+     */
+    void setBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        resetWindow();
+    }
+
+    /**
+     * Goes back to full resolution
+     */
+    void reset() {
+        scale = MAX_SCALE;
+        resetWindow();
+    }
+
+    float getScale() {
+        return scale;
+    }
+
+    /**
+     * Records how long a frame took to draw and post
+     *
+     * @return Whether the scale changed, so the surface should be resized
+     */
+    boolean onFrameDrawn(long drawNanos) {
+        if (settleFrames > 0) {
+            settleFrames--;
+            return false;
+        }
+        windowNanos += drawNanos;
+        windowFrames++;
+        if (windowFrames < WINDOW_FRAMES || budgetNanos <= 0) {
+            return false;
+        }
+
+        long averageNanos = windowNanos / windowFrames;
+        float previous = scale;
+        if (averageNanos > budgetNanos * LOWER_ABOVE) {
+            scale = Math.max(MIN_SCALE, scale - STEP);
+        } else if (averageNanos < budgetNanos * RAISE_BELOW) {
+            scale = Math.min(MAX_SCALE, scale + STEP);
+        }
+        resetWindow();
+        if (scale != previous) {
+            settleFrames = SETTLE_FRAMES;
+            return true;
+        }
+        return false;
+    }
+
+    private void resetWindow() {
+        windowNanos = 0;
+        windowFrames = 0;
+        settleFrames = 0;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.game;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Several sprites packed into one bitmap, with a named sub-rectangle per sprite.
+ * Built by pack_sprite_atlas.py, which writes the image and a metadata table:
+ *
+ * <pre>
+ * size 122 68
+ * sprite_player 2 2 40 40
+ * </pre>
+ *
+ * Rectangles are in the packed image's pixels. The decoded bitmap may be scaled for the
+ * screen density, so they are scaled by the same factor when the atlas is loaded.
+ */
+class SpriteAtlas {
+    private final Bitmap bitmap;
+    private final Map<String, Rect> regions = new HashMap<>();
+
+    private SpriteAtlas(Bitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    /**
+     * Reads the metadata table for a decoded atlas bitmap
+     *
+     * @throws IOException If the table can't be read or doesn't start with the atlas size
+     */
+    static SpriteAtlas load(Bitmap bitmap, InputStream metadata) throws IOException {
+        SpriteAtlas atlas = new SpriteAtlas(bitmap);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(metadata, StandardCharsets.UTF_8))) {
+            float scaleX = 0;
+            float scaleY = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                try {
+                    if (fields[0].equals("size") && fields.length == 3) {
+                        scaleX = bitmap.getWidth() / Float.parseFloat(fields[1]);
+                        scaleY = bitmap.getHeight() / Float.parseFloat(fields[2]);
+                    } else if (fields.length == 5 && scaleX > 0) {
+                        int x = Integer.parseInt(fields[1]);
+                        int y = Integer.parseInt(fields[2]);
+                        int width = Integer.parseInt(fields[3]);
+                        int height = Integer.parseInt(fields[4]);
+                        atlas.regions.put(fields[0], new Rect(scale(x, scaleX), scale(y, scaleY),
+                                scale(x + width, scaleX), scale(y + height, scaleY)));
+                    } else {
+                        throw new IOException("Bad atlas line: " + line);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Bad atlas line: " + line, e);
+                }
+            }
+        }
+        return atlas;
+    }
+
+    // Rounds like the density scaling done when decoding, so edges land on the same pixels
+    private static int scale(int value, float scale) {
+        return (int) (value * scale + 0.5f);
+    }
+
+    Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * Gets a sprite's rectangle in the atlas bitmap, or null if the atlas doesn't have it
+     */
+    Rect getRegion(String name) {
+        return regions.get(name);
+    }
+
+    void recycle() {
+        bitmap.recycle();
+    }
+}
@@ -1,28 +1,60 @@
 package org.example.game;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Rect;
 
+import java.io.InputStream;
+
 /**
  * Manages loading and caching of sprite bitmaps for the game.
- * This class loads sprites from the drawable resources folder.
+ * Sprites are loaded from the sprite atlas (drawable/sprite_atlas.png with raw/sprite_atlas.txt,
+ * built by pack_sprite_atlas.py), so startup decodes one image and every sprite is drawn from
+ * the same bitmap. Sprites missing from the atlas are loaded from their own drawable resources.
+ *
+ * Decoding scales the sprites for the screen density once, and entities take their size from the
+ * scaled sprites, so drawing an entity copies its sprite 1:1. Tiles are opaque and are kept as
+ * 16-bit copies pre-scaled to the size they are drawn at.
  */
-public class SpriteManager {
+public class SpriteManager implements SpriteMetrics {
+    private static final String ATLAS_NAME = "sprite_atlas";
+
+    /**
+     * The game's sprites, by the drawable resource they come from
+     */
+    public enum Sprite {
+        PLAYER("sprite_player", false),
+        TEACHER("sprite_teacher", false),
+        FRIEND("sprite_friend", false),
+        WALL_TILE("tile_wall", true),
+        FLOOR_TILE("tile_floor", true),
+        CORRIDOR_TILE("tile_corridor", true),
+        ROOM_TILE("tile_room", true);
+
+        final String resourceName;
+        // Fully opaque, so RGB_565 loses nothing visible
+        final boolean opaque;
+
+        Sprite(String resourceName, boolean opaque) {
+            this.resourceName = resourceName;
+            this.opaque = opaque;
+        }
+    }
+
     private static SpriteManager instance;
     private Context context;
-    
-    // Cached bitmaps
-    private Bitmap playerSprite;
-    private Bitmap teacherSprite;
-    private Bitmap friendSprite;
-    private Bitmap wallTileSprite;
-    private Bitmap floorTileSprite;
-    private Bitmap corridorTileSprite;
-    private Bitmap roomTileSprite;
-    
+
+    private SpriteAtlas atlas;
+    // Per sprite: the bitmap it is drawn from (the atlas or its own bitmap) and its rectangle there
+    private final Bitmap[] sources = new Bitmap[Sprite.values().length];
+    private final Rect[] regions = new Rect[Sprite.values().length];
+    // Tiles copied out as opaque bitmaps of their own, pre-scaled for their users
+    private final Bitmap[] tiles = new Bitmap[Sprite.values().length];
+
     // Sprite dimensions (will be set when sprites are loaded)
     private int playerWidth = 40;
     private int playerHeight = 40;
@@ -31,243 +63,248 @@ public class SpriteManager {
     private int friendWidth = 30;
     private int friendHeight = 30;
     private int tileSize = 20;
-    
+
+    // Reused by the draw methods, which are only called from the render thread
+    private final Rect srcRect = new Rect();
+    private final Rect dstRect = new Rect();
+
     private SpriteManager(Context context) {
         this.context = context;
         loadSprites();
     }
-    
+
     public static SpriteManager getInstance(Context context) {
         if (instance == null) {
             instance = new SpriteManager(context);
         }
         return instance;
     }
-    
+
     /**
-     * Loads all sprites from drawable resources.
-     * If a sprite resource doesn't exist, it will be null and the game will fall back to colored rectangles.
+     * Loads all sprites, from the atlas when there is one.
+     * If a sprite is in neither the atlas nor the drawable resources, it will be null and the game
+     * will fall back to colored rectangles.
      */
     private void loadSprites() {
-        try {
-            // Try to load player sprite
-            int playerResId = context.getResources().getIdentifier("sprite_player", "drawable", context.getPackageName());
-            if (playerResId != 0) {
-                playerSprite = BitmapFactory.decodeResource(context.getResources(), playerResId);
-                if (playerSprite != null) {
-                    playerWidth = playerSprite.getWidth();
-                    playerHeight = playerSprite.getHeight();
-                }
+        loadAtlas();
+        for (Sprite sprite : Sprite.values()) {
+            Rect region = atlas != null ? atlas.getRegion(sprite.resourceName) : null;
+            if (region != null) {
+                sources[sprite.ordinal()] = atlas.getBitmap();
+                regions[sprite.ordinal()] = region;
+            } else {
+                loadSeparateSprite(sprite);
             }
-        } catch (Exception e) {
-            // Sprite not found, will use fallback
         }
-        
-        try {
-            // Try to load teacher sprite
-            int teacherResId = context.getResources().getIdentifier("sprite_teacher", "drawable", context.getPackageName());
-            if (teacherResId != 0) {
-                teacherSprite = BitmapFactory.decodeResource(context.getResources(), teacherResId);
-                if (teacherSprite != null) {
-                    teacherWidth = teacherSprite.getWidth();
-                    teacherHeight = teacherSprite.getHeight();
-                }
-            }
-        } catch (Exception e) {
-            // Sprite not found, will use fallback
+
+        Rect player = regions[Sprite.PLAYER.ordinal()];
+        if (player != null) {
+            playerWidth = player.width();
+            playerHeight = player.height();
         }
-        
-        try {
-            // Try to load friend sprite
-            int friendResId = context.getResources().getIdentifier("sprite_friend", "drawable", context.getPackageName());
-            if (friendResId != 0) {
-                friendSprite = BitmapFactory.decodeResource(context.getResources(), friendResId);
-                if (friendSprite != null) {
-                    friendWidth = friendSprite.getWidth();
-                    friendHeight = friendSprite.getHeight();
-                }
-            }
-        } catch (Exception e) {
-            // Sprite not found, will use fallback
+        Rect teacher = regions[Sprite.TEACHER.ordinal()];
+        if (teacher != null) {
+            teacherWidth = teacher.width();
+            teacherHeight = teacher.height();
         }
-        
-        try {
-            // Try to load wall tile sprite
-            int wallResId = context.getResources().getIdentifier("tile_wall", "drawable", context.getPackageName());
-            if (wallResId != 0) {
-                wallTileSprite = BitmapFactory.decodeResource(context.getResources(), wallResId);
-                if (wallTileSprite != null) {
-                    tileSize = wallTileSprite.getWidth();
-                }
-            }
-        } catch (Exception e) {
-            // Sprite not found, will use fallback
+        Rect friend = regions[Sprite.FRIEND.ordinal()];
+        if (friend != null) {
+            friendWidth = friend.width();
+            friendHeight = friend.height();
         }
-        
-        try {
-            // Try to load floor tile sprite
-            int floorResId = context.getResources().getIdentifier("tile_floor", "drawable", context.getPackageName());
-            if (floorResId != 0) {
-                floorTileSprite = BitmapFactory.decodeResource(context.getResources(), floorResId);
-            }
-        } catch (Exception e) {
-            // Sprite not found, will use fallback
+        Rect wallTile = regions[Sprite.WALL_TILE.ordinal()];
+        if (wallTile != null) {
+            tileSize = wallTile.width();
         }
-        
-        try {
-            // Try to load corridor tile sprite
-            int corridorResId = context.getResources().getIdentifier("tile_corridor", "drawable", context.getPackageName());
-            if (corridorResId != 0) {
-                corridorTileSprite = BitmapFactory.decodeResource(context.getResources(), corridorResId);
+    }
+
+    private void loadAtlas() {
+        Resources resources = context.getResources();
+        int imageResId = resources.getIdentifier(ATLAS_NAME, "drawable", context.getPackageName());
+        int metadataResId = resources.getIdentifier(ATLAS_NAME, "raw", context.getPackageName());
+        if (imageResId == 0 || metadataResId == 0) {
+            return;
+        }
+        Bitmap bitmap = null;
+        try (InputStream metadata = resources.openRawResource(metadataResId)) {
+            // The atlas holds the entity sprites, which need alpha
+            bitmap = BitmapFactory.decodeResource(resources, imageResId, createDecodeOptions(false));
+            if (bitmap != null) {
+                atlas = SpriteAtlas.load(bitmap, metadata);
             }
         } catch (Exception e) {
-            // Sprite not found, will use fallback
+            // Broken atlas, sprites will be loaded one by one
+            if (bitmap != null) {
+                bitmap.recycle();
+            }
+            atlas = null;
         }
-        
+    }
+
+    private void loadSeparateSprite(Sprite sprite) {
         try {
-            // Try to load room tile sprite
-            int roomResId = context.getResources().getIdentifier("tile_room", "drawable", context.getPackageName());
-            if (roomResId != 0) {
-                roomTileSprite = BitmapFactory.decodeResource(context.getResources(), roomResId);
+            int resId = context.getResources().getIdentifier(sprite.resourceName, "drawable", context.getPackageName());
+            if (resId != 0) {
+                Bitmap bitmap = BitmapFactory.decodeResource(context.getResources(), resId,
+                        createDecodeOptions(sprite.opaque));
+                if (bitmap != null) {
+                    sources[sprite.ordinal()] = bitmap;
+                    regions[sprite.ordinal()] = new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight());
+                }
             }
         } catch (Exception e) {
             // Sprite not found, will use fallback
         }
     }
-    
+
+    /**
+     * Options for decoding sprites: scaled from the resource's density to the screen's
+     * while decoding, so they never need scaling when drawn
+     *
+     * @param opaque Whether the image has no transparency and can be decoded to 16-bit pixels
+     */
+    private static BitmapFactory.Options createDecodeOptions(boolean opaque) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inScaled = true;
+        options.inPreferredConfig = opaque ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        return options;
+    }
+
+    /**
+     * Checks whether a sprite was loaded
+     */
+    public boolean hasSprite(Sprite sprite) {
+        return sources[sprite.ordinal()] != null;
+    }
+
     /**
      * Draws a sprite at the specified position and size.
-     * If the sprite is null, this method does nothing (fallback to colored rectangles).
+     * If the sprite isn't loaded, this method does nothing (fallback to colored rectangles).
      */
-    public void drawSprite(Canvas canvas, Bitmap sprite, float x, float y, float width, float height) {
-        if (sprite != null) {
-            Rect srcRect = new Rect(0, 0, sprite.getWidth(), sprite.getHeight());
-            Rect dstRect = new Rect((int)x, (int)y, (int)(x + width), (int)(y + height));
-            canvas.drawBitmap(sprite, srcRect, dstRect, null);
+    public void drawSprite(Canvas canvas, Sprite sprite, float x, float y, float width, float height) {
+        Bitmap source = sources[sprite.ordinal()];
+        if (source != null) {
+            dstRect.set((int)x, (int)y, (int)(x + width), (int)(y + height));
+            canvas.drawBitmap(source, regions[sprite.ordinal()], dstRect, null);
         }
     }
-    
+
     /**
      * Draws a tile sprite repeatedly to fill a rectangular area.
      */
-    public void drawTiledSprite(Canvas canvas, Bitmap tileSprite, float x, float y, float width, float height) {
-        if (tileSprite == null) {
+    public void drawTiledSprite(Canvas canvas, Sprite tile, float x, float y, float width, float height) {
+        Bitmap source = sources[tile.ordinal()];
+        if (source == null) {
             return;
         }
-        
-        int tileWidth = tileSprite.getWidth();
-        int tileHeight = tileSprite.getHeight();
-        
+
+        Rect region = regions[tile.ordinal()];
+        int tileWidth = region.width();
+        int tileHeight = region.height();
+
         for (float tileY = y; tileY < y + height; tileY += tileHeight) {
             for (float tileX = x; tileX < x + width; tileX += tileWidth) {
                 float drawWidth = Math.min(tileWidth, (x + width) - tileX);
                 float drawHeight = Math.min(tileHeight, (y + height) - tileY);
-                
-                Rect srcRect = new Rect(0, 0, (int)drawWidth, (int)drawHeight);
-                Rect dstRect = new Rect((int)tileX, (int)tileY, (int)(tileX + drawWidth), (int)(tileY + drawHeight));
-                canvas.drawBitmap(tileSprite, srcRect, dstRect, null);
+
+                srcRect.set(region.left, region.top, region.left + (int)drawWidth, region.top + (int)drawHeight);
+                dstRect.set((int)tileX, (int)tileY, (int)(tileX + drawWidth), (int)(tileY + drawHeight));
+                canvas.drawBitmap(source, srcRect, dstRect, null);
             }
         }
     }
-    
-    // Getters for sprites
-    public Bitmap getPlayerSprite() {
-        return playerSprite;
-    }
-    
-    public Bitmap getTeacherSprite() {
-        return teacherSprite;
-    }
-    
-    public Bitmap getFriendSprite() {
-        return friendSprite;
-    }
-    
-    public Bitmap getWallTileSprite() {
-        return wallTileSprite;
-    }
-    
-    public Bitmap getFloorTileSprite() {
-        return floorTileSprite;
-    }
-    
-    public Bitmap getCorridorTileSprite() {
-        return corridorTileSprite;
-    }
-    
-    public Bitmap getRoomTileSprite() {
-        return roomTileSprite;
+
+    /**
+     * Gets an opaque tile as an RGB_565 bitmap of its own, scaled once to size x size, for drawing
+     * without a source rectangle or scaling (baked floor chunks, repeating shaders).
+     * Only called from the render thread.
+     *
+     * @return The tile's bitmap, or null if it isn't loaded
+     */
+    public Bitmap getTileBitmap(Sprite tile, int size) {
+        int index = tile.ordinal();
+        Bitmap source = sources[index];
+        if (source == null) {
+            return null;
+        }
+        Bitmap bitmap = tiles[index];
+        if (bitmap == null || bitmap.getWidth() != size || bitmap.getHeight() != size) {
+            if (bitmap != null) {
+                bitmap.recycle();
+            }
+            bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.RGB_565);
+            dstRect.set(0, 0, size, size);
+            new Canvas(bitmap).drawBitmap(source, regions[index], dstRect, new Paint(Paint.FILTER_BITMAP_FLAG));
+            tiles[index] = bitmap;
+        }
+        return bitmap;
     }
-    
+
     // Getters for sprite dimensions
+    @Override
     public int getPlayerWidth() {
         return playerWidth;
     }
-    
+
+    @Override
     public int getPlayerHeight() {
         return playerHeight;
     }
-    
+
+    @Override
     public int getTeacherWidth() {
         return teacherWidth;
     }
-    
+
+    @Override
     public int getTeacherHeight() {
         return teacherHeight;
     }
-    
+
+    @Override
     public int getFriendWidth() {
         return friendWidth;
     }
-    
+
+    @Override
     public int getFriendHeight() {
         return friendHeight;
     }
-    
+
     public int getTileSize() {
         return tileSize;
     }
-    
+
     /**
      * Checks if sprites are loaded (at least one sprite exists)
      */
     public boolean hasSprites() {
-        return playerSprite != null || teacherSprite != null || friendSprite != null || 
-               wallTileSprite != null || floorTileSprite != null || corridorTileSprite != null || roomTileSprite != null;
+        for (Bitmap source : sources) {
+            if (source != null) {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
     /**
      * Clean up resources when done
      */
     public void cleanup() {
-        if (playerSprite != null) {
-            playerSprite.recycle();
-            playerSprite = null;
-        }
-        if (teacherSprite != null) {
-            teacherSprite.recycle();
-            teacherSprite = null;
-        }
-        if (friendSprite != null) {
-            friendSprite.recycle();
-            friendSprite = null;
-        }
-        if (wallTileSprite != null) {
-            wallTileSprite.recycle();
-            wallTileSprite = null;
-        }
-        if (floorTileSprite != null) {
-            floorTileSprite.recycle();
-            floorTileSprite = null;
-        }
-        if (corridorTileSprite != null) {
-            corridorTileSprite.recycle();
-            corridorTileSprite = null;
+        for (int i = 0; i < sources.length; i++) {
+            if (tiles[i] != null) {
+                tiles[i].recycle();
+                tiles[i] = null;
+            }
+            if (sources[i] != null && (atlas == null || sources[i] != atlas.getBitmap())) {
+                sources[i].recycle();
+            }
+            sources[i] = null;
+            regions[i] = null;
         }
-        if (roomTileSprite != null) {
-            roomTileSprite.recycle();
-            roomTileSprite = null;
+        if (atlas != null) {
+            atlas.recycle();
+            atlas = null;
         }
     }
 }
-
@@ -0,0 +1,39 @@
+package org.example.game;
+
+/**
+ * Frame rates the game can be rendered at.
+ * The actual rate is picked from the refresh rates the display supports.
+ */
+public enum TargetFrameRate {
+    FPS_60(60f),
+    FPS_90(90f),
+    FPS_120(120f),
+    HALF_RATE(0f); // Every other vsync of the display's current rate (battery saver)
+
+    private final float framesPerSecond;
+
+    TargetFrameRate(float framesPerSecond) {
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * Gets the requested rate, or 0 for {@link #HALF_RATE} which depends on the display
+     */
+    public float getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Parses a stored preference value, falling back to 60 fps for unknown values
+     */
+    public static TargetFrameRate fromName(String name) {
+        if (name != null) {
+            for (TargetFrameRate rate : values()) {
+                if (rate.name().equals(name)) {
+                    return rate;
+                }
+            }
+        }
+        return FPS_60;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.game;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Collects the teachers' debug vision cones for a frame and draws them all at once:
+ * one drawVertices call for the filled triangles and one drawLines call for the outlines
+ * and facing lines. The buffers are reused from frame to frame. Render thread only.
+ */
+class VisionConeBatch {
+    private static final float HALF_ANGLE = (float) (Math.PI / 8); // 22.5 degrees (half of 45 degrees)
+    private static final float COS_HALF_ANGLE = (float) Math.cos(HALF_ANGLE);
+    private static final float SIN_HALF_ANGLE = (float) Math.sin(HALF_ANGLE);
+    private static final int TRIANGLE_FLOATS = 6; // Apex, left and right edge points
+    private static final int LINE_FLOATS = 16; // Three outline edges and the facing line
+
+    private float[] triangles = new float[0];
+    private float[] lines = new float[0];
+    private int coneCount = 0;
+
+    /**
+     * Starts a new frame's batch, making room for up to the given number of cones
+     */
+    void begin(int maxCones) {
+        coneCount = 0;
+        if (triangles.length < maxCones * TRIANGLE_FLOATS) {
+            triangles = new float[maxCones * TRIANGLE_FLOATS];
+            lines = new float[maxCones * LINE_FLOATS];
+        }
+    }
+
+    /**
+     * Adds a cone with its apex at the given point
+     *
+     * @param direction Direction the teacher faces, in radians
+     */
+    void add(float centerX, float centerY, float direction, float length) {
+        // Facing vector; the edges are it rotated by the half angle either way
+        float dirX = (float) Math.cos(direction) * length;
+        float dirY = (float) Math.sin(direction) * length;
+        float leftX = centerX + dirX * COS_HALF_ANGLE + dirY * SIN_HALF_ANGLE;
+        float leftY = centerY - dirX * SIN_HALF_ANGLE + dirY * COS_HALF_ANGLE;
+        float rightX = centerX + dirX * COS_HALF_ANGLE - dirY * SIN_HALF_ANGLE;
+        float rightY = centerY + dirX * SIN_HALF_ANGLE + dirY * COS_HALF_ANGLE;
+
+        int t = coneCount * TRIANGLE_FLOATS;
+        triangles[t] = centerX;
+        triangles[t + 1] = centerY;
+        triangles[t + 2] = leftX;
+        triangles[t + 3] = leftY;
+        triangles[t + 4] = rightX;
+        triangles[t + 5] = rightY;
+
+        int l = coneCount * LINE_FLOATS;
+        setLine(l, centerX, centerY, leftX, leftY);
+        setLine(l + 4, leftX, leftY, rightX, rightY);
+        setLine(l + 8, rightX, rightY, centerX, centerY);
+        setLine(l + 12, centerX, centerY, centerX + dirX, centerY + dirY);
+        coneCount++;
+    }
+
+    private void setLine(int index, float startX, float startY, float endX, float endY) {
+        lines[index] = startX;
+        lines[index + 1] = startY;
+        lines[index + 2] = endX;
+        lines[index + 3] = endY;
+    }
+
+    /**
+     * Draws the cones added since {@link #begin(int)}
+     */
+    void draw(Canvas canvas, Paint fillPaint, Paint outlinePaint) {
+        if (coneCount == 0) {
+            return;
+        }
+        // With no colors or texture coordinates, the triangles are filled with the paint's color
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, coneCount * TRIANGLE_FLOATS, triangles, 0,
+                null, 0, null, 0, null, 0, 0, fillPaint);
+        canvas.drawLines(lines, 0, coneCount * LINE_FLOATS, outlinePaint);
+    }
+}
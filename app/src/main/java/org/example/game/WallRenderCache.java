@@ -0,0 +1,114 @@
+package org.example.game;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+import java.util.List;
+
+/**
+ * Draws the walls with one draw call each. A wall's look is a repeating pattern (the wall
+ * tile sprite, or a brick pattern baked once when there is no sprite), so it is filled
+ * with a repeat-mode shader anchored at the wall's top-left corner, which gives the same
+ * pixels as drawing the pattern tile by tile. Walls outside the camera are skipped.
+ * Render thread only.
+ */
+class WallRenderCache {
+    private static final int BRICK_WIDTH = 40;
+    private static final int BRICK_HEIGHT = 20;
+    private static final int MORTAR_WIDTH = 2;
+    // The brick pattern repeats every two rows; odd rows are offset by half a brick
+    private static final int PATTERN_WIDTH = BRICK_WIDTH + MORTAR_WIDTH;
+    private static final int PATTERN_HEIGHT = 2 * (BRICK_HEIGHT + MORTAR_WIDTH);
+
+    private final List<Wall> walls;
+    private final SpriteManager spriteManager;
+    private final Paint wallPaint = new Paint(Paint.FILTER_BITMAP_FLAG); // Filtered for zoomed and mip-level drawing
+    private final Matrix shaderMatrix = new Matrix();
+    private BitmapShader shader;
+    private Bitmap brickPattern;
+
+    WallRenderCache(SchoolLayout schoolLayout, SpriteManager spriteManager) {
+        this.walls = schoolLayout.getWalls();
+        this.spriteManager = spriteManager;
+    }
+
+    /**
+     * Draws the walls in an area: the part of the world under the camera, or a floor chunk being baked.
+     * The canvas must already be transformed to world coordinates.
+     */
+    void draw(Canvas canvas, float cameraX, float cameraY, float viewportWidth, float viewportHeight) {
+        if (shader == null) {
+            createShader();
+        }
+
+        float right = cameraX + viewportWidth;
+        float bottom = cameraY + viewportHeight;
+        for (int i = 0; i < walls.size(); i++) {
+            Wall wall = walls.get(i);
+            if (!wall.intersects(cameraX, cameraY, right, bottom)) {
+                continue;
+            }
+            float x = wall.getX();
+            float y = wall.getY();
+            // Start the pattern at the wall's corner, like the tiles drawn one by one did
+            shaderMatrix.setTranslate(x, y);
+            shader.setLocalMatrix(shaderMatrix);
+            canvas.drawRect(x, y, x + wall.getWidth(), y + wall.getHeight(), wallPaint);
+        }
+    }
+
+    private void createShader() {
+        Bitmap tile = spriteManager != null ? spriteManager.getTileBitmap(SpriteManager.Sprite.WALL_TILE, spriteManager.getTileSize()) : null;
+        if (tile == null) {
+            brickPattern = createBrickPattern();
+            tile = brickPattern;
+        }
+        shader = new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+        wallPaint.setShader(shader);
+    }
+
+    /**
+     * Bakes two rows of bricks on mortar, which tile into the fallback brick wall
+     */
+    private static Bitmap createBrickPattern() {
+        Paint mortarPaint = new Paint();
+        mortarPaint.setColor(Color.rgb(100, 100, 100)); // Gray
+        mortarPaint.setStyle(Paint.Style.FILL);
+
+        // Brick color (reddish-brown like Minecraft)
+        Paint brickPaint = new Paint();
+        brickPaint.setColor(Color.rgb(150, 75, 0));
+        brickPaint.setStyle(Paint.Style.FILL);
+
+        Bitmap pattern = BitmapPool.getInstance().obtain(PATTERN_WIDTH, PATTERN_HEIGHT, Bitmap.Config.RGB_565);
+        Canvas canvas = new Canvas(pattern);
+        canvas.drawRect(0, 0, PATTERN_WIDTH, PATTERN_HEIGHT, mortarPaint);
+
+        // Even row: one whole brick, then mortar
+        canvas.drawRect(0, 0, BRICK_WIDTH, BRICK_HEIGHT, brickPaint);
+
+        // Odd row: the right half of a brick, mortar, then the left half of the next
+        int oddTop = BRICK_HEIGHT + MORTAR_WIDTH;
+        int halfBrick = BRICK_WIDTH / 2;
+        canvas.drawRect(0, oddTop, halfBrick, oddTop + BRICK_HEIGHT, brickPaint);
+        canvas.drawRect(halfBrick + MORTAR_WIDTH, oddTop, PATTERN_WIDTH, oddTop + BRICK_HEIGHT, brickPaint);
+        return pattern;
+    }
+
+    /**
+     * Gives the baked brick pattern back to the pool. The walls can still be drawn afterwards; the pattern is baked again.
+     */
+    void release() {
+        if (brickPattern != null) {
+            BitmapPool.getInstance().release(brickPattern);
+            brickPattern = null;
+        }
+        shader = null;
+        wallPaint.setShader(null);
+    }
+}
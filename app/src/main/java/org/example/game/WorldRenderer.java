@@ -0,0 +1,355 @@
+package org.example.game;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import org.example.entities.Teacher;
+
+/**
+ * Draws the world and HUD from a {@link WorldSnapshot}.
+ * Runs on the render thread and never touches live simulation objects; the school
+ * layout and sprites it uses are not modified after the level is created.
+ */
+public class WorldRenderer {
+    // Entities this far outside the viewport are still drawn, so nothing pops in at the edges
+    private static final float CULL_MARGIN = 32f;
+    // Below this zoom, entities are drawn as markers and small details are left out
+    private static final float OVERVIEW_ZOOM = 0.6f;
+    private static final float MARKER_SIZE = 16f; // Marker side in screen pixels
+
+    private final SchoolLayout schoolLayout;
+    private final SpriteManager spriteManager;
+    private final float worldWidth;
+    private final float worldHeight;
+
+    private final Paint backgroundPaint;
+    private final Paint corridorPaint;
+    private final Paint roomPaint;
+    private final Paint principalOfficePaint;
+    private final Paint principalOfficeFillPaint;
+    private final Paint principalOfficeTextPaint;
+    private final Paint playerPaint;
+    private final Paint friendPaint;
+    private final Paint teacherPaint;
+    private final Paint visionConePaint;
+    private final Paint visionConeOutlinePaint;
+    private final FloorLayer floorLayer;
+    private final WallRenderCache wallRenderCache;
+    private final HudLayer hudLayer = new HudLayer();
+    private final VisionConeBatch visionConeBatch = new VisionConeBatch();
+    private float[] markerPoints = new float[0];
+
+    // Part of the world drawn this frame, widened by CULL_MARGIN
+    private float visibleLeft;
+    private float visibleTop;
+    private float visibleRight;
+    private float visibleBottom;
+
+    /**
+     * @param spriteManager Loaded sprites, or null to draw with plain shapes
+     */
+    public WorldRenderer(GameEngine engine, SpriteManager spriteManager) {
+        this.schoolLayout = engine.getSchoolLayout();
+        this.spriteManager = spriteManager;
+        this.worldWidth = engine.getWorldWidth();
+        this.worldHeight = engine.getWorldHeight();
+
+        this.backgroundPaint = new Paint();
+        this.backgroundPaint.setColor(Color.rgb(240, 240, 240)); // Light gray floor
+
+        // Paint for corridor squares (light gray)
+        this.corridorPaint = new Paint();
+        this.corridorPaint.setColor(Color.rgb(220, 220, 220)); // Light gray
+        this.corridorPaint.setStyle(Paint.Style.FILL);
+
+        // Paint for room squares (darker gray)
+        this.roomPaint = new Paint();
+        this.roomPaint.setColor(Color.rgb(180, 180, 180)); // Darker gray for rooms
+        this.roomPaint.setStyle(Paint.Style.FILL);
+
+        // Paint for principal's office (visible when bonus is active)
+        this.principalOfficeFillPaint = new Paint();
+        this.principalOfficeFillPaint.setColor(Color.rgb(255, 100, 100)); // Bright red fill
+        this.principalOfficeFillPaint.setStyle(Paint.Style.FILL);
+        this.principalOfficeFillPaint.setAlpha(200); // Semi-transparent
+
+        this.principalOfficePaint = new Paint();
+        this.principalOfficePaint.setColor(Color.rgb(255, 255, 0)); // Bright yellow border
+        this.principalOfficePaint.setStyle(Paint.Style.STROKE);
+        this.principalOfficePaint.setStrokeWidth(8f);
+
+        // Text paint for office label
+        this.principalOfficeTextPaint = new Paint();
+        this.principalOfficeTextPaint.setColor(Color.WHITE);
+        this.principalOfficeTextPaint.setTextSize(40f);
+        this.principalOfficeTextPaint.setAntiAlias(true);
+        this.principalOfficeTextPaint.setStyle(Paint.Style.FILL);
+        this.principalOfficeTextPaint.setFakeBoldText(true);
+
+        // Fallback paints for entities without sprites
+        this.playerPaint = new Paint();
+        this.playerPaint.setColor(Color.BLUE);
+        this.playerPaint.setStyle(Paint.Style.FILL);
+
+        this.friendPaint = new Paint();
+        this.friendPaint.setColor(Color.GREEN);
+        this.friendPaint.setStyle(Paint.Style.FILL);
+
+        this.teacherPaint = new Paint();
+        this.teacherPaint.setColor(Color.RED);
+        this.teacherPaint.setStyle(Paint.Style.FILL);
+
+        // Vision cone debug paints
+        this.visionConePaint = new Paint();
+        this.visionConePaint.setColor(Color.argb(100, 255, 255, 0)); // More visible semi-transparent yellow fill
+        this.visionConePaint.setStyle(Paint.Style.FILL);
+
+        this.visionConeOutlinePaint = new Paint();
+        this.visionConeOutlinePaint.setColor(Color.argb(255, 255, 200, 0)); // Bright yellow outline
+        this.visionConeOutlinePaint.setStyle(Paint.Style.STROKE);
+        this.visionConeOutlinePaint.setStrokeWidth(3f); // Thicker outline for better visibility
+
+        // Markers are drawn as square points, one batch per kind of entity
+        this.playerPaint.setStrokeCap(Paint.Cap.SQUARE);
+        this.friendPaint.setStrokeCap(Paint.Cap.SQUARE);
+        this.teacherPaint.setStrokeCap(Paint.Cap.SQUARE);
+
+        this.wallRenderCache = new WallRenderCache(schoolLayout, spriteManager);
+        this.floorLayer = new FloorLayer(schoolLayout, spriteManager, wallRenderCache, worldWidth, worldHeight,
+                backgroundPaint.getColor(), corridorPaint, roomPaint);
+    }
+
+    /**
+     * Frees the cached floor, wall and HUD bitmaps. Call on the render thread's owner once it has stopped drawing.
+     */
+    public void release() {
+        floorLayer.release();
+        wallRenderCache.release();
+        hudLayer.release();
+    }
+
+    /**
+     * Draws the world and HUD
+     * 
+     * @param snapshot    State to draw
+     * @param alpha       Interpolation factor between the snapshot's previous and current step (0-1)
+     * @param renderScale Size of the canvas relative to the view; everything is laid out in view pixels
+     */
+    public void draw(Canvas canvas, WorldSnapshot snapshot, float alpha, float renderScale) {
+        // Clear screen with floor color
+        canvas.drawColor(backgroundPaint.getColor());
+        int saveCount = canvas.save();
+        canvas.scale(renderScale, renderScale);
+
+        // Apply camera transform - this moves the world so camera position becomes
+        // (0,0), and scales it by the zoom
+        float cameraX = WorldSnapshot.lerp(snapshot.cameraPrevX, snapshot.cameraX, alpha);
+        float cameraY = WorldSnapshot.lerp(snapshot.cameraPrevY, snapshot.cameraY, alpha);
+        float zoom = snapshot.cameraZoom;
+        canvas.save();
+        canvas.scale(zoom, zoom);
+        canvas.translate(-cameraX, -cameraY);
+
+        // Draw the floor tiles from the pre-rendered chunks, at the detail the screen can show
+        int level = FloorLayer.getLevel(zoom * renderScale);
+        floorLayer.draw(canvas, cameraX, cameraY, snapshot.viewportWidth, snapshot.viewportHeight, level);
+
+        // Draw the walls the camera can see, one shader-filled rect each; coarser chunks already have them
+        if (level == 0) {
+            wallRenderCache.draw(canvas, cameraX, cameraY, snapshot.viewportWidth, snapshot.viewportHeight);
+        }
+
+        // Entities are culled against the viewport and drawn one kind at a time, so
+        // consecutive draws use the same bitmap
+        visibleLeft = cameraX - CULL_MARGIN;
+        visibleTop = cameraY - CULL_MARGIN;
+        visibleRight = cameraX + snapshot.viewportWidth + CULL_MARGIN;
+        visibleBottom = cameraY + snapshot.viewportHeight + CULL_MARGIN;
+        boolean overview = zoom < OVERVIEW_ZOOM;
+        if (overview) {
+            drawMarkers(canvas, snapshot, alpha, MARKER_SIZE / zoom);
+        } else {
+            drawFriends(canvas, snapshot);
+            drawTeachers(canvas, snapshot, alpha);
+            if (Teacher.SHOW_VISION_CONE) {
+                drawVisionCones(canvas, snapshot, alpha);
+            }
+            drawPlayer(canvas, snapshot, alpha);
+        }
+
+        // Draw principal's office marker when bonus is active (on top of everything)
+        if (snapshot.principalBonusActive) {
+            drawPrincipalOffice(canvas, !overview);
+        }
+
+        canvas.restore();
+
+        // Draw HUD (score, etc.) - HUD is drawn in screen space
+        hudLayer.draw(canvas, snapshot, Math.round(canvas.getWidth() / renderScale),
+                Math.round(canvas.getHeight() / renderScale));
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Checks whether a rectangle in world coordinates overlaps the part of the world drawn this frame
+     */
+    private boolean isVisible(float x, float y, float width, float height) {
+        return x < visibleRight && x + width > visibleLeft && y < visibleBottom && y + height > visibleTop;
+    }
+
+    private void drawFriends(Canvas canvas, WorldSnapshot snapshot) {
+        boolean hasSprite = spriteManager != null && spriteManager.hasSprite(SpriteManager.Sprite.FRIEND);
+        for (int i = 0; i < snapshot.friendCount; i++) {
+            if (snapshot.friendRescued[i]) {
+                continue;
+            }
+            float x = snapshot.friendX[i];
+            float y = snapshot.friendY[i];
+            float width = snapshot.friendWidth[i];
+            float height = snapshot.friendHeight[i];
+            if (!isVisible(x, y, width, height)) {
+                continue;
+            }
+            if (hasSprite) {
+                spriteManager.drawSprite(canvas, SpriteManager.Sprite.FRIEND, x, y, width, height);
+            } else {
+                canvas.drawRect(x, y, x + width, y + height, friendPaint);
+            }
+        }
+    }
+
+    private void drawTeachers(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        boolean hasSprite = spriteManager != null && spriteManager.hasSprite(SpriteManager.Sprite.TEACHER);
+        for (int i = 0; i < snapshot.teacherCount; i++) {
+            float x = WorldSnapshot.lerp(snapshot.teacherPrevX[i], snapshot.teacherX[i], alpha);
+            float y = WorldSnapshot.lerp(snapshot.teacherPrevY[i], snapshot.teacherY[i], alpha);
+            float width = snapshot.teacherWidth[i];
+            float height = snapshot.teacherHeight[i];
+            if (!isVisible(x, y, width, height)) {
+                continue;
+            }
+            if (hasSprite) {
+                spriteManager.drawSprite(canvas, SpriteManager.Sprite.TEACHER, x, y, width, height);
+            } else {
+                canvas.drawRect(x, y, x + width, y + height, teacherPaint);
+            }
+        }
+    }
+
+    /**
+     * Draws the teachers' vision cones (debug mode) after all teacher sprites, as one batch,
+     * skipping cones that can't reach the screen
+     */
+    private void drawVisionCones(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        visionConeBatch.begin(snapshot.teacherCount);
+        for (int i = 0; i < snapshot.teacherCount; i++) {
+            if ((snapshot.teacherFlags[i] & WorldSnapshot.TEACHER_HAS_VISION_CONE) == 0) {
+                continue;
+            }
+            float x = WorldSnapshot.lerp(snapshot.teacherPrevX[i], snapshot.teacherX[i], alpha);
+            float y = WorldSnapshot.lerp(snapshot.teacherPrevY[i], snapshot.teacherY[i], alpha);
+            float centerX = x + snapshot.teacherWidth[i] / 2;
+            float centerY = y + snapshot.teacherHeight[i] / 2;
+            float length = snapshot.teacherVisionLength[i];
+            // The cone fits in the square around its apex with the cone's length as half side
+            if (!isVisible(centerX - length, centerY - length, 2 * length, 2 * length)) {
+                continue;
+            }
+            visionConeBatch.add(centerX, centerY, snapshot.teacherDirection[i], length);
+        }
+        visionConeBatch.draw(canvas, visionConePaint, visionConeOutlinePaint);
+    }
+
+    private void drawPlayer(Canvas canvas, WorldSnapshot snapshot, float alpha) {
+        float x = WorldSnapshot.lerp(snapshot.playerPrevX, snapshot.playerX, alpha);
+        float y = WorldSnapshot.lerp(snapshot.playerPrevY, snapshot.playerY, alpha);
+        float width = snapshot.playerWidth;
+        float height = snapshot.playerHeight;
+        if (!isVisible(x, y, width, height)) {
+            return;
+        }
+        if (spriteManager != null && spriteManager.hasSprite(SpriteManager.Sprite.PLAYER)) {
+            spriteManager.drawSprite(canvas, SpriteManager.Sprite.PLAYER, x, y, width, height);
+        } else {
+            canvas.drawRect(x, y, x + width, y + height, playerPaint);
+        }
+    }
+
+    /**
+     * Draws every entity as a plain square of the given size at its center, with one call per
+     * kind of entity, for overviews where sprites would be a few pixels wide
+     */
+    private void drawMarkers(Canvas canvas, WorldSnapshot snapshot, float alpha, float size) {
+        // Room for the larger group; the player needs one point
+        int capacity = 2 * Math.max(1, Math.max(snapshot.friendCount, snapshot.teacherCount));
+        if (markerPoints.length < capacity) {
+            markerPoints = new float[capacity];
+        }
+
+        int count = 0;
+        for (int i = 0; i < snapshot.friendCount; i++) {
+            float x = snapshot.friendX[i];
+            float y = snapshot.friendY[i];
+            if (!snapshot.friendRescued[i] && isVisible(x, y, snapshot.friendWidth[i], snapshot.friendHeight[i])) {
+                markerPoints[count++] = x + snapshot.friendWidth[i] / 2;
+                markerPoints[count++] = y + snapshot.friendHeight[i] / 2;
+            }
+        }
+        drawMarkerPoints(canvas, count, size, friendPaint);
+
+        count = 0;
+        for (int i = 0; i < snapshot.teacherCount; i++) {
+            float x = WorldSnapshot.lerp(snapshot.teacherPrevX[i], snapshot.teacherX[i], alpha);
+            float y = WorldSnapshot.lerp(snapshot.teacherPrevY[i], snapshot.teacherY[i], alpha);
+            if (isVisible(x, y, snapshot.teacherWidth[i], snapshot.teacherHeight[i])) {
+                markerPoints[count++] = x + snapshot.teacherWidth[i] / 2;
+                markerPoints[count++] = y + snapshot.teacherHeight[i] / 2;
+            }
+        }
+        drawMarkerPoints(canvas, count, size, teacherPaint);
+
+        float x = WorldSnapshot.lerp(snapshot.playerPrevX, snapshot.playerX, alpha);
+        float y = WorldSnapshot.lerp(snapshot.playerPrevY, snapshot.playerY, alpha);
+        if (isVisible(x, y, snapshot.playerWidth, snapshot.playerHeight)) {
+            markerPoints[0] = x + snapshot.playerWidth / 2;
+            markerPoints[1] = y + snapshot.playerHeight / 2;
+            drawMarkerPoints(canvas, 2, size, playerPaint);
+        }
+    }
+
+    private void drawMarkerPoints(Canvas canvas, int count, float size, Paint paint) {
+        if (count == 0) {
+            return;
+        }
+        paint.setStrokeWidth(size);
+        canvas.drawPoints(markerPoints, 0, count, paint);
+    }
+
+    /**
+     * @param labeled Whether to draw the office's text label
+     */
+    private void drawPrincipalOffice(Canvas canvas, boolean labeled) {
+        float[] officeLocation = schoolLayout.getPrincipalOfficeLocation();
+        float officeX = officeLocation[0];
+        float officeY = officeLocation[1];
+        float officeSize = 150f; // Larger size for better visibility
+
+        // Draw filled rectangle
+        canvas.drawRect(officeX - officeSize / 2, officeY - officeSize / 2,
+                officeX + officeSize / 2, officeY + officeSize / 2, principalOfficeFillPaint);
+
+        // Draw bright yellow border
+        canvas.drawRect(officeX - officeSize / 2, officeY - officeSize / 2,
+                officeX + officeSize / 2, officeY + officeSize / 2, principalOfficePaint);
+
+        if (!labeled) {
+            return;
+        }
+
+        // Draw "OFFICE" text label
+        String label = "OFFICE";
+        float textWidth = principalOfficeTextPaint.measureText(label);
+        canvas.drawText(label, officeX - textWidth / 2, officeY + 15, principalOfficeTextPaint);
+    }
+}
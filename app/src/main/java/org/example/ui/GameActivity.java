@@ -7,8 +7,11 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import org.example.R;
+import org.example.data.PreferencesManager;
 import org.example.entities.Teacher;
 import org.example.game.GameEngine;
+import org.example.game.FrameTimeHistogram;
+import org.example.game.GameEventListener;
 import org.example.game.GameState;
 import org.example.game.GameView;
 import org.example.questions.Question;
@@ -17,8 +20,9 @@ import org.example.questions.QuestionManager;
 public class GameActivity extends AppCompatActivity {
     private GameView gameView;
     private QuestionManager questionManager;
+    private PreferencesManager preferencesManager;
     private Question currentQuestion;
-    private volatile boolean questionShown = false;
+    private boolean questionShown = false;
     private Switch visionConeSwitch;
     
     @Override
@@ -31,6 +35,11 @@ public class GameActivity extends AppCompatActivity {
         // Create GameView programmatically
         android.widget.FrameLayout container = findViewById(R.id.game_container);
         gameView = new GameView(this);
+        preferencesManager = new PreferencesManager(this);
+        gameView.setTargetFrameRate(preferencesManager.getTargetFrameRate());
+        gameView.setRenderBackend(preferencesManager.getResolvedRenderBackend());
+        gameView.setRenderTimeMeasured(preferencesManager.isRenderTimeMeasured());
+        gameView.setAdaptiveRenderScale(preferencesManager.isAdaptiveResolutionEnabled());
         if (container != null) {
             container.addView(gameView);
         }
@@ -52,30 +61,18 @@ public class GameActivity extends AppCompatActivity {
             setupJoystick(joystickView, gameView);
         }
         
-        // Set up game state listener
-        new Thread(() -> {
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    Thread.sleep(100);
-                    if (gameView != null && gameView.getGameEngine() != null) {
-                        GameState state = gameView.getGameEngine().getState();
-                        if (state == GameState.QUESTION && !questionShown) {
-                            questionShown = true;
-                            runOnUiThread(() -> {
-                                showQuestionDialog();
-                            });
-                        } else if (state == GameState.GAME_OVER) {
-                            runOnUiThread(this::finishGame);
-                            break;
-                        } else if (state != GameState.QUESTION) {
-                            questionShown = false;
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    break;
+        // React to game state changes as soon as the simulation reports them
+        gameView.setGameEventListener(new GameEventListener() {
+            @Override
+            public void onStateChanged(GameState previousState, GameState newState) {
+                if (newState == GameState.QUESTION && !questionShown) {
+                    questionShown = true;
+                    showQuestionDialog();
+                } else if (newState == GameState.GAME_OVER) {
+                    finishGame();
                 }
             }
-        }).start();
+        });
     }
     
     private void showQuestionDialog() {
@@ -134,18 +131,29 @@ public class GameActivity extends AppCompatActivity {
     @Override
     protected void onPause() {
         super.onPause();
-        if (gameView != null && gameView.getGameEngine() != null) {
-            gameView.getGameEngine().setState(GameState.PAUSED);
+        if (gameView != null) {
+            gameView.onPause();
+            saveRenderTime();
+        }
+    }
+    
+    /**
+     * Stores the measured frame draw time for the backend in use, so the
+     * automatic backend setting can pick the faster one next time
+     */
+    private void saveRenderTime() {
+        FrameTimeHistogram renderTime = gameView.getRenderTimeHistogram();
+        if (preferencesManager.isRenderTimeMeasured() && renderTime.getFrameCount() > 0) {
+            preferencesManager.setMeasuredRenderMillis(gameView.getActiveRenderBackend(),
+                    renderTime.getAverageMillis());
         }
     }
     
     @Override
     protected void onResume() {
         super.onResume();
-        if (gameView != null && gameView.getGameEngine() != null) {
-            if (gameView.getGameEngine().getState() == GameState.PAUSED) {
-                gameView.getGameEngine().setState(GameState.PLAYING);
-            }
+        if (gameView != null) {
+            gameView.onResume();
         }
     }
     
@@ -1,17 +1,28 @@
 package org.example.ui;
 
 import android.os.Bundle;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.Spinner;
 import android.widget.Switch;
+import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
 import org.example.R;
 import org.example.data.PreferencesManager;
+import org.example.game.RenderBackend;
+import org.example.game.TargetFrameRate;
 
 public class SettingsActivity extends AppCompatActivity {
     private PreferencesManager preferencesManager;
     private Switch soundSwitch;
     private Switch musicSwitch;
+    private Spinner frameRateSpinner;
+    private Spinner renderBackendSpinner;
+    private Switch measureRenderTimeSwitch;
+    private Switch adaptiveResolutionSwitch;
+    private TextView renderTimeText;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -22,6 +33,11 @@ public class SettingsActivity extends AppCompatActivity {
         
         soundSwitch = findViewById(R.id.sound_switch);
         musicSwitch = findViewById(R.id.music_switch);
+        frameRateSpinner = findViewById(R.id.frame_rate_spinner);
+        renderBackendSpinner = findViewById(R.id.render_backend_spinner);
+        measureRenderTimeSwitch = findViewById(R.id.measure_render_time_switch);
+        renderTimeText = findViewById(R.id.render_time_text);
+        adaptiveResolutionSwitch = findViewById(R.id.adaptive_resolution_switch);
         
         if (soundSwitch != null) {
             soundSwitch.setChecked(preferencesManager.isSoundEnabled());
@@ -36,6 +52,59 @@ public class SettingsActivity extends AppCompatActivity {
                 preferencesManager.setMusicEnabled(isChecked);
             });
         }
+        
+        if (frameRateSpinner != null) {
+            // Spinner entries are in the same order as TargetFrameRate
+            frameRateSpinner.setSelection(preferencesManager.getTargetFrameRate().ordinal());
+            frameRateSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    preferencesManager.setTargetFrameRate(TargetFrameRate.values()[position]);
+                }
+                
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {
+                }
+            });
+        }
+        
+        if (renderBackendSpinner != null) {
+            // Spinner entries are in the same order as RenderBackend
+            renderBackendSpinner.setSelection(preferencesManager.getRenderBackend().ordinal());
+            renderBackendSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    preferencesManager.setRenderBackend(RenderBackend.values()[position]);
+                }
+                
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {
+                }
+            });
+        }
+        
+        if (measureRenderTimeSwitch != null) {
+            measureRenderTimeSwitch.setChecked(preferencesManager.isRenderTimeMeasured());
+            measureRenderTimeSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
+                preferencesManager.setRenderTimeMeasured(isChecked);
+            });
+        }
+        
+        if (adaptiveResolutionSwitch != null) {
+            adaptiveResolutionSwitch.setChecked(preferencesManager.isAdaptiveResolutionEnabled());
+            adaptiveResolutionSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
+                preferencesManager.setAdaptiveResolutionEnabled(isChecked);
+            });
+        }
+        
+        if (renderTimeText != null) {
+            renderTimeText.setText(getString(R.string.render_time_measured,
+                    formatRenderTime(preferencesManager.getMeasuredRenderMillis(RenderBackend.HARDWARE)),
+                    formatRenderTime(preferencesManager.getMeasuredRenderMillis(RenderBackend.SOFTWARE))));
+        }
+    }
+    
+    private String formatRenderTime(float millis) {
+        return millis < 0 ? getString(R.string.render_time_not_measured) : getString(R.string.render_time_millis, millis);
     }
 }
-
@@ -0,0 +1,30 @@
+// JMH microbenchmarks for the simulation hot paths in :core.
+// Run with: ./gradlew :benchmarks:jmh
+// Pass -Pjmh.includes=<regex> to run a subset, e.g. -Pjmh.includes=GameEngineBenchmark
+//
+// Headless scenario runner (whole games at full speed, per-subsystem timings):
+// ./gradlew :benchmarks:run --args="--teachers 20 --world 4000 --minutes 10"
+plugins {
+    java
+    application
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+application {
+    mainClass.set("org.example.benchmarks.ScenarioRunner")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+}
@@ -0,0 +1,102 @@
+package org.example.benchmarks;
+
+import org.example.entities.Player;
+import org.example.game.SchoolLayout;
+import org.example.game.Wall;
+import org.example.game.WorldConfig;
+import org.example.physics.CollisionDetector;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared fixtures for the benchmarks: layouts for a given world size and
+ * reproducible probe positions inside them.
+ */
+final class BenchmarkWorlds {
+    static final int PROBE_COUNT = 256; // Power of two so probes can be cycled with a mask
+    static final int PROBE_MASK = PROBE_COUNT - 1;
+    static final long SEED = 42L;
+    static final float ENTITY_SIZE = 40f;
+
+    private BenchmarkWorlds() {
+    }
+
+    static WorldConfig config(int worldSize, int teacherCount) {
+        return WorldConfig.forWorldSize(worldSize, worldSize, teacherCount);
+    }
+
+    static SchoolLayout layout(int worldSize) {
+        return new SchoolLayout(config(worldSize, 5));
+    }
+
+    /**
+     * Picks positions where an entity doesn't touch any wall
+     * @return Interleaved x, y pairs
+     */
+    static float[] freePositions(SchoolLayout layout, Random random) {
+        List<Wall> walls = layout.getWalls();
+        Player probe = new Player(0, 0, null);
+        float[] positions = new float[PROBE_COUNT * 2];
+        int found = 0;
+        while (found < PROBE_COUNT) {
+            float x = random.nextFloat() * (layout.getWorldWidth() - ENTITY_SIZE);
+            float y = random.nextFloat() * (layout.getWorldHeight() - ENTITY_SIZE);
+            probe.setPosition(x, y);
+            if (!CollisionDetector.checkWallCollision(probe, walls)) {
+                positions[found * 2] = x;
+                positions[found * 2 + 1] = y;
+                found++;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Picks positions where an entity overlaps a wall edge, as after a step into it
+     * @return Interleaved x, y pairs
+     */
+    static float[] touchingPositions(SchoolLayout layout, Random random) {
+        List<Wall> walls = layout.getWalls();
+        float[] positions = new float[PROBE_COUNT * 2];
+        for (int i = 0; i < PROBE_COUNT; i++) {
+            Wall wall = walls.get(random.nextInt(walls.size()));
+            // Sink the entity a few pixels into a random side of the wall
+            float depth = 2f + random.nextFloat() * 6f;
+            float x;
+            float y;
+            switch (random.nextInt(4)) {
+                case 0: // Left side
+                    x = wall.getX() - ENTITY_SIZE + depth;
+                    y = wall.getY() + random.nextFloat() * wall.getHeight() - ENTITY_SIZE / 2;
+                    break;
+                case 1: // Right side
+                    x = wall.getX() + wall.getWidth() - depth;
+                    y = wall.getY() + random.nextFloat() * wall.getHeight() - ENTITY_SIZE / 2;
+                    break;
+                case 2: // Top side
+                    x = wall.getX() + random.nextFloat() * wall.getWidth() - ENTITY_SIZE / 2;
+                    y = wall.getY() - ENTITY_SIZE + depth;
+                    break;
+                default: // Bottom side
+                    x = wall.getX() + random.nextFloat() * wall.getWidth() - ENTITY_SIZE / 2;
+                    y = wall.getY() + wall.getHeight() - depth;
+                    break;
+            }
+            positions[i * 2] = x;
+            positions[i * 2 + 1] = y;
+        }
+        return positions;
+    }
+
+    /**
+     * Random directions in radians
+     */
+    static float[] directions(Random random) {
+        float[] directions = new float[PROBE_COUNT];
+        for (int i = 0; i < PROBE_COUNT; i++) {
+            directions[i] = (float) (random.nextDouble() * Math.PI * 2);
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.benchmarks;
+
+import org.example.entities.Player;
+import org.example.game.SchoolLayout;
+import org.example.game.Wall;
+import org.example.game.WallGrid;
+import org.example.physics.CollisionDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-vs-wall collision checks and resolution, as run for the player and every teacher each tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    @Param({"2000", "4000"})
+    public int worldSize;
+
+    private List<Wall> walls;
+    private WallGrid wallGrid;
+    private Player entity;
+    private float[] freePositions;
+    private float[] touchingPositions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SchoolLayout layout = BenchmarkWorlds.layout(worldSize);
+        Random random = new Random(BenchmarkWorlds.SEED);
+        walls = layout.getWalls();
+        wallGrid = layout.getWallGrid();
+        entity = new Player(0, 0, null);
+        freePositions = BenchmarkWorlds.freePositions(layout, random);
+        touchingPositions = BenchmarkWorlds.touchingPositions(layout, random);
+    }
+
+    /**
+     * Common case: nothing is hit, so every wall is tested
+     */
+    @Benchmark
+    public boolean checkWallCollisionMiss() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(freePositions[i * 2], freePositions[i * 2 + 1]);
+        return CollisionDetector.checkWallCollision(entity, walls);
+    }
+
+    @Benchmark
+    public boolean checkWallCollisionHit() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(touchingPositions[i * 2], touchingPositions[i * 2 + 1]);
+        return CollisionDetector.checkWallCollision(entity, walls);
+    }
+
+    @Benchmark
+    public float resolveWallCollision() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(touchingPositions[i * 2], touchingPositions[i * 2 + 1]);
+        CollisionDetector.resolveWallCollision(entity, walls);
+        return entity.getX() + entity.getY();
+    }
+
+    /**
+     * Same as {@link #checkWallCollisionMiss()}, testing only the walls in the grid cells around the entity
+     */
+    @Benchmark
+    public boolean checkWallCollisionMissGrid() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(freePositions[i * 2], freePositions[i * 2 + 1]);
+        return CollisionDetector.checkWallCollision(entity, wallGrid);
+    }
+
+    @Benchmark
+    public boolean checkWallCollisionHitGrid() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(touchingPositions[i * 2], touchingPositions[i * 2 + 1]);
+        return CollisionDetector.checkWallCollision(entity, wallGrid);
+    }
+
+    @Benchmark
+    public float resolveWallCollisionGrid() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        entity.setPosition(touchingPositions[i * 2], touchingPositions[i * 2 + 1]);
+        CollisionDetector.resolveWallCollision(entity, wallGrid);
+        return entity.getX() + entity.getY();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.benchmarks;
+
+import org.example.game.GameEngine;
+import org.example.game.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full simulation tick (player, teacher AI, collisions, bonuses, camera)
+ * for different numbers of teachers and world sizes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameEngineBenchmark {
+    private static final int TICKS_PER_DIRECTION = 120; // Player changes direction every 2 seconds
+    private static final int WARM_UP_TICKS = 300; // Let teachers leave their start positions
+
+    @Param({"5", "20", "50"})
+    public int teacherCount;
+
+    @Param({"2000", "4000"})
+    public int worldSize;
+
+    private GameEngine engine;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new GameEngine(1080, 1920, null, BenchmarkWorlds.config(worldSize, teacherCount));
+        tick = 0;
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            update();
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        if (tick % TICKS_PER_DIRECTION == 0) {
+            // Walk a square so teachers see, chase and lose the player
+            int side = (tick / TICKS_PER_DIRECTION) % 4;
+            engine.setPlayerMovement(side == 3, side == 1, side == 2, side == 0);
+        }
+        if (engine.getState() == GameState.QUESTION) {
+            // Answer correctly so the tick keeps exercising the full update path
+            engine.freezeTeacherThatCaughtPlayer();
+            engine.setState(GameState.PLAYING);
+        }
+        engine.update(GameEngine.FIXED_TIMESTEP);
+        tick++;
+        return engine.getScore();
+    }
+}
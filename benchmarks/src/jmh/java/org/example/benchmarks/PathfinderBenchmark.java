@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.game.DeadEndFillingPathfinder;
+import org.example.game.SchoolLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dead-end filling pathfinder: grid construction at level start and per-tick direction queries
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderBenchmark {
+    @Param({"2000", "4000"})
+    public int worldSize;
+
+    private SchoolLayout layout;
+    private DeadEndFillingPathfinder pathfinder;
+    private float[] from;
+    private float[] to;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        layout = BenchmarkWorlds.layout(worldSize);
+        Random random = new Random(BenchmarkWorlds.SEED);
+        pathfinder = new DeadEndFillingPathfinder(layout, layout.getWorldWidth(), layout.getWorldHeight());
+        from = BenchmarkWorlds.freePositions(layout, random);
+        to = BenchmarkWorlds.freePositions(layout, random);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public DeadEndFillingPathfinder construct() {
+        return new DeadEndFillingPathfinder(layout, layout.getWorldWidth(), layout.getWorldHeight());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float getDirectionToTarget() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        return pathfinder.getDirectionToTarget(from[i * 2], from[i * 2 + 1], to[i * 2], to[i * 2 + 1]);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.benchmarks;
+
+import org.example.game.SchoolLayout;
+import org.example.game.VisionCone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teacher vision cone wall tests and the opening search used when a cone hits a wall
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisionConeBenchmark {
+    private static final float VISION_CONE_LENGTH = 200f; // Same as Teacher
+
+    @Param({"2000", "4000"})
+    public int worldSize;
+
+    private VisionCone visionCone;
+    private float[] positions;
+    private float[] targets;
+    private float[] directions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SchoolLayout layout = BenchmarkWorlds.layout(worldSize);
+        Random random = new Random(BenchmarkWorlds.SEED);
+        visionCone = new VisionCone(VISION_CONE_LENGTH, layout);
+        positions = BenchmarkWorlds.freePositions(layout, random);
+        targets = BenchmarkWorlds.freePositions(layout, random);
+        directions = BenchmarkWorlds.directions(random);
+    }
+
+    @Benchmark
+    public boolean hitsWall() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        return visionCone.hitsWall(positions[i * 2], positions[i * 2 + 1], directions[i]);
+    }
+
+    @Benchmark
+    public float findBestOpeningTowardTarget() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        return visionCone.findBestOpeningTowardTarget(positions[i * 2], positions[i * 2 + 1],
+                targets[i * 2], targets[i * 2 + 1], directions[i]);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.game.SchoolLayout;
+import org.example.game.WallAwarenessSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-aware steering: the direction search teachers run when their path is blocked
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallAwarenessBenchmark {
+    @Param({"2000", "4000"})
+    public int worldSize;
+
+    private WallAwarenessSystem wallAwareness;
+    private float[] positions;
+    private float[] directions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SchoolLayout layout = BenchmarkWorlds.layout(worldSize);
+        Random random = new Random(BenchmarkWorlds.SEED);
+        wallAwareness = new WallAwarenessSystem(layout, layout.getWorldWidth(), layout.getWorldHeight());
+        positions = BenchmarkWorlds.freePositions(layout, random);
+        directions = BenchmarkWorlds.directions(random);
+    }
+
+    @Benchmark
+    public float findBestDirection() {
+        int i = next++ & BenchmarkWorlds.PROBE_MASK;
+        return wallAwareness.findBestDirection(positions[i * 2], positions[i * 2 + 1], directions[i],
+                BenchmarkWorlds.ENTITY_SIZE, BenchmarkWorlds.ENTITY_SIZE);
+    }
+}
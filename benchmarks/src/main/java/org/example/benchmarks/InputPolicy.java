@@ -0,0 +1,21 @@
+package org.example.benchmarks;
+
+import org.example.game.GameEngine;
+
+/**
+ * Drives the player in a headless run, standing in for the joystick
+ */
+interface InputPolicy {
+    /**
+     * Called before every simulation step
+     * 
+     * @param engine Engine to send movement to (through {@link GameEngine#setPlayerMovement})
+     * @param tick   Index of the step about to run
+     */
+    void apply(GameEngine engine, long tick);
+
+    /**
+     * Gets a short name for reports
+     */
+    String getName();
+}
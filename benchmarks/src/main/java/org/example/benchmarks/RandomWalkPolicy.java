@@ -0,0 +1,48 @@
+package org.example.benchmarks;
+
+import org.example.game.GameEngine;
+
+import java.util.Random;
+
+/**
+ * Moves the player in a random direction (or stands still) for a random time,
+ * then picks again. Seeded, so two runs with the same seed send the same input.
+ */
+class RandomWalkPolicy implements InputPolicy {
+    private static final float MIN_HOLD_SECONDS = 0.25f;
+    private static final float MAX_HOLD_SECONDS = 2f;
+    private static final float IDLE_CHANCE = 0.1f; // Sometimes stand still, like a real player
+
+    private final Random random;
+    private long nextChangeTick = 0;
+
+    RandomWalkPolicy(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void apply(GameEngine engine, long tick) {
+        if (tick < nextChangeTick) {
+            return;
+        }
+        if (random.nextFloat() < IDLE_CHANCE) {
+            engine.setPlayerMovement(false, false, false, false);
+        } else {
+            // One of the 8 joystick directions: each axis is -1, 0 or 1, not both 0
+            int horizontal;
+            int vertical;
+            do {
+                horizontal = random.nextInt(3) - 1;
+                vertical = random.nextInt(3) - 1;
+            } while (horizontal == 0 && vertical == 0);
+            engine.setPlayerMovement(vertical < 0, vertical > 0, horizontal < 0, horizontal > 0);
+        }
+        float holdSeconds = MIN_HOLD_SECONDS + random.nextFloat() * (MAX_HOLD_SECONDS - MIN_HOLD_SECONDS);
+        nextChangeTick = tick + Math.max(1, Math.round(holdSeconds / GameEngine.FIXED_TIMESTEP));
+    }
+
+    @Override
+    public String getName() {
+        return "random-walk";
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.benchmarks;
+
+import org.example.entities.Teacher;
+import org.example.game.GameEngine;
+import org.example.game.GameEventListener;
+import org.example.game.GameState;
+import org.example.game.TickProfiler;
+import org.example.game.WorldConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Headless scenario runner: simulates minutes of game time as fast as possible, with no
+ * Android view, canvas or context, and reports how much each tick costs.
+ *
+ * Whenever a teacher catches the player, the question is answered correctly so the game goes on;
+ * when every friend is rescued, a new level is started. With the same arguments the run is
+ * deterministic, so two builds can be compared on the same workload.
+ *
+ * Usage: ./gradlew :benchmarks:run --args="--teachers 20 --world 4000 --minutes 10"
+ */
+public class ScenarioRunner {
+    private static final float VIEWPORT_WIDTH = 1080f;
+    private static final float VIEWPORT_HEIGHT = 1920f;
+    private static final int TICKS_PER_MINUTE = Math.round(60f / GameEngine.FIXED_TIMESTEP);
+    private static final int TICKS_PER_SECOND = TICKS_PER_MINUTE / 60;
+    private static final float STALL_DISTANCE = 5f; // A teacher that gets less far in a second has stalled
+
+    // Options
+    private int teacherCount = WorldConfig.DEFAULT.getTeacherCount();
+    private float worldSize = WorldConfig.DEFAULT.getWorldWidth();
+    private float minutes = 10f;
+    private float warmUpMinutes = 1f;
+    private long seed = 42L;
+    private String policyName = "random";
+    private String script = ScriptedPolicy.DEFAULT_SCRIPT;
+    private boolean profileSections = true;
+
+    // Results
+    private GameEngine engine;
+    private SectionProfiler profiler;
+    private long[] tickNanos;
+    private long wallNanos;
+    private int levelsStarted;
+    private int levelsCompleted;
+    private int timesCaught;
+    private int friendsRescued;
+    private long stuckCount;
+    private long unstuckCount;
+    private long unstuckTimeoutCount;
+    private long stalledSeconds;
+
+    // Teacher positions at the last once-a-second sample
+    private float[] sampleX = new float[0];
+    private float[] sampleY = new float[0];
+    private boolean sampled;
+
+    public static void main(String[] args) {
+        ScenarioRunner runner = new ScenarioRunner();
+        try {
+            runner.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        runner.run();
+        runner.printReport();
+    }
+
+    private static void printUsage() {
+        System.err.println("Options:");
+        System.err.println("  --teachers <n>      Number of teachers (default 5)");
+        System.err.println("  --world <pixels>    Width and height of the world; rooms scale with it (default 2000)");
+        System.err.println("  --minutes <m>       Game time to simulate (default 10)");
+        System.err.println("  --warmup <m>        Game time simulated first and not measured (default 1)");
+        System.err.println("  --seed <n>          Seed for the world, teachers and input (default 42)");
+        System.err.println("  --policy <name>     random (random walk) or scripted (default random)");
+        System.err.println("  --script <moves>    Moves for the scripted policy (default \"" + ScriptedPolicy.DEFAULT_SCRIPT + "\")");
+        System.err.println("  --no-profile        Don't time sections, to measure ticks without profiling overhead");
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--no-profile")) {
+                profileSections = false;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--teachers":
+                        teacherCount = Integer.parseInt(value);
+                        break;
+                    case "--world":
+                        worldSize = Float.parseFloat(value);
+                        break;
+                    case "--minutes":
+                        minutes = Float.parseFloat(value);
+                        break;
+                    case "--warmup":
+                        warmUpMinutes = Float.parseFloat(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--policy":
+                        if (!value.equals("random") && !value.equals("scripted")) {
+                            throw new IllegalArgumentException("Unknown policy: " + value);
+                        }
+                        policyName = value;
+                        break;
+                    case "--script":
+                        script = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number for " + option + ": " + value);
+            }
+        }
+    }
+
+    private WorldConfig createConfig(int level) {
+        // Each level gets its own seed so restarts don't replay the same level
+        return WorldConfig.forWorldSize(worldSize, worldSize, teacherCount).withSeed(seed + level);
+    }
+
+    private InputPolicy createPolicy() {
+        return policyName.equals("scripted") ? new ScriptedPolicy(script) : new RandomWalkPolicy(seed);
+    }
+
+    public void run() {
+        // Warm up the JIT on a throwaway game with the same settings
+        long warmUpTicks = (long) (warmUpMinutes * TICKS_PER_MINUTE);
+        simulate(warmUpTicks, null);
+
+        int measuredTicks = (int) (minutes * TICKS_PER_MINUTE);
+        tickNanos = new long[measuredTicks];
+        profiler = profileSections ? new SectionProfiler() : null;
+        levelsStarted = 0;
+        levelsCompleted = 0;
+        timesCaught = 0;
+        friendsRescued = 0;
+        stuckCount = 0;
+        unstuckCount = 0;
+        unstuckTimeoutCount = 0;
+        stalledSeconds = 0;
+
+        long start = System.nanoTime();
+        simulate(measuredTicks, tickNanos);
+        wallNanos = System.nanoTime() - start;
+        addTeacherCounts();
+    }
+
+    /**
+     * Runs the game for the given number of steps, restarting levels as they are completed
+     *
+     * @param tickNanos Where to store each step's cost, or null to not measure
+     */
+    private void simulate(long ticks, long[] tickNanos) {
+        InputPolicy policy = createPolicy();
+        startLevel();
+        for (long tick = 0; tick < ticks; tick++) {
+            GameState state = engine.getState();
+            if (state == GameState.QUESTION) {
+                // Answer correctly, like a player who knows everything
+                engine.freezeTeacherThatCaughtPlayer();
+                engine.setState(GameState.PLAYING);
+            } else if (state == GameState.GAME_OVER) {
+                levelsCompleted++;
+                addTeacherCounts();
+                startLevel();
+            }
+            policy.apply(engine, tick);
+
+            long tickStart = System.nanoTime();
+            engine.update(GameEngine.FIXED_TIMESTEP);
+            if (tickNanos != null) {
+                tickNanos[(int) tick] = System.nanoTime() - tickStart;
+                if (tick % TICKS_PER_SECOND == 0) {
+                    sampleTeacherProgress();
+                }
+            }
+        }
+    }
+
+    private void startLevel() {
+        engine = new GameEngine(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, null, createConfig(levelsStarted++));
+        engine.setTickProfiler(profiler);
+        sampled = false;
+        engine.addGameEventListener(new GameEventListener() {
+            @Override
+            public void onPlayerCaught() {
+                timesCaught++;
+            }
+
+            @Override
+            public void onFriendRescued(int rescued, int totalFriends) {
+                friendsRescued++;
+            }
+        });
+    }
+
+    /**
+     * Adds a stalled second for every teacher that should be on the move but got less than
+     * STALL_DISTANCE from where the last sample saw it. Judged from positions alone, so it
+     * doesn't rely on the teachers' own stuck detection.
+     */
+    private void sampleTeacherProgress() {
+        List<Teacher> teachers = engine.getTeachers();
+        if (sampleX.length != teachers.size()) {
+            sampleX = new float[teachers.size()];
+            sampleY = new float[teachers.size()];
+            sampled = false;
+        }
+        for (int i = 0; i < teachers.size(); i++) {
+            Teacher teacher = teachers.get(i);
+            float dx = teacher.getX() - sampleX[i];
+            float dy = teacher.getY() - sampleY[i];
+            if (sampled && !teacher.isFrozen() && !teacher.isAway()
+                    && dx * dx + dy * dy < STALL_DISTANCE * STALL_DISTANCE) {
+                stalledSeconds++;
+            }
+            sampleX[i] = teacher.getX();
+            sampleY[i] = teacher.getY();
+        }
+        sampled = true;
+    }
+
+    private void addTeacherCounts() {
+        for (Teacher teacher : engine.getTeachers()) {
+            stuckCount += teacher.getStuckCount();
+            unstuckCount += teacher.getUnstuckCount();
+            unstuckTimeoutCount += teacher.getUnstuckTimeoutCount();
+        }
+    }
+
+    public void printReport() {
+        int ticks = tickNanos.length;
+        long totalTickNanos = 0;
+        for (long nanos : tickNanos) {
+            totalTickNanos += nanos;
+        }
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+        double gameSeconds = ticks * GameEngine.FIXED_TIMESTEP;
+        double wallSeconds = wallNanos / 1e9;
+
+        System.out.println("Scenario:   " + createConfig(0) + ", policy " + createPolicy().getName());
+        System.out.println(format("Simulated:  %d ticks (%.1f min game time) in %.2f s, %.0f ticks/s, %.0fx real time",
+                ticks, gameSeconds / 60, wallSeconds, ticks / wallSeconds, gameSeconds / wallSeconds));
+        if (ticks > 0) {
+            System.out.println(format("Tick cost:  mean %s, p50 %s, p99 %s, max %s",
+                    formatNanos(totalTickNanos / ticks), formatNanos(percentile(sorted, 0.50)),
+                    formatNanos(percentile(sorted, 0.99)), formatNanos(sorted[ticks - 1])));
+        }
+        if (profiler != null && ticks > 0) {
+            System.out.println("Sections:   (per tick, share of tick time)");
+            for (TickProfiler.Section section : TickProfiler.Section.values()) {
+                long nanos = profiler.getTotalNanos(section);
+                System.out.println(format("  %-12s %10s  %5.1f%%", section.name().toLowerCase(Locale.ROOT),
+                        formatNanos(nanos / ticks), 100.0 * nanos / Math.max(1, totalTickNanos)));
+            }
+        }
+        System.out.println(format("Teachers:   stuck %d, unstuck %d, gave up %d, stalled %d s", stuckCount,
+                unstuckCount, unstuckTimeoutCount, stalledSeconds));
+        System.out.println(format("Game:       caught %d, friends rescued %d, levels completed %d", timesCaught,
+                friendsRescued, levelsCompleted));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return format("%.2f ms", nanos / 1e6);
+        }
+        return format("%.1f us", nanos / 1e3);
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmarks;
+
+import org.example.game.GameEngine;
+
+/**
+ * Replays a fixed list of moves, looping at the end.
+ * A script is a space-separated list of moves like {@code "R2 D1.5 UL1 -0.5"}:
+ * the directions to hold (U, D, L, R, or - for none) followed by how many seconds to hold them.
+ */
+class ScriptedPolicy implements InputPolicy {
+    /**
+     * Walks a square around the start position
+     */
+    static final String DEFAULT_SCRIPT = "R2 D2 L2 U2";
+
+    private final String script;
+    private final int[] moveFlags; // Bits: 1 up, 2 down, 4 left, 8 right
+    private final long[] moveTicks;
+    private final long scriptTicks;
+    private int currentMove = -1;
+
+    ScriptedPolicy(String script) {
+        this.script = script;
+        String[] moves = script.trim().split("\\s+");
+        moveFlags = new int[moves.length];
+        moveTicks = new long[moves.length];
+        long total = 0;
+        for (int i = 0; i < moves.length; i++) {
+            String move = moves[i].toUpperCase();
+            int split = 0;
+            int flags = 0;
+            while (split < move.length() && "UDLR-".indexOf(move.charAt(split)) >= 0) {
+                char c = move.charAt(split);
+                if (c == 'U') flags |= 1;
+                if (c == 'D') flags |= 2;
+                if (c == 'L') flags |= 4;
+                if (c == 'R') flags |= 8;
+                split++;
+            }
+            if (split == 0 || split == move.length()) {
+                throw new IllegalArgumentException("Bad move '" + moves[i] + "' in script: " + script);
+            }
+            float seconds = Float.parseFloat(move.substring(split));
+            moveFlags[i] = flags;
+            moveTicks[i] = Math.max(1, Math.round(seconds / GameEngine.FIXED_TIMESTEP));
+            total += moveTicks[i];
+        }
+        scriptTicks = total;
+    }
+
+    @Override
+    public void apply(GameEngine engine, long tick) {
+        // Find the move this tick falls in
+        long remaining = tick % scriptTicks;
+        int move = 0;
+        while (remaining >= moveTicks[move]) {
+            remaining -= moveTicks[move];
+            move++;
+        }
+        if (move == currentMove) {
+            return;
+        }
+        currentMove = move;
+        int flags = moveFlags[move];
+        engine.setPlayerMovement((flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0);
+    }
+
+    @Override
+    public String getName() {
+        return "scripted \"" + script + "\"";
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.benchmarks;
+
+import org.example.game.TickProfiler;
+
+/**
+ * Adds up the time spent in each section of the simulation step
+ */
+class SectionProfiler implements TickProfiler {
+    private final long[] startNanos = new long[Section.values().length];
+    private final long[] totalNanos = new long[Section.values().length];
+
+    @Override
+    public void begin(Section section) {
+        startNanos[section.ordinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void end(Section section) {
+        totalNanos[section.ordinal()] += System.nanoTime() - startNanos[section.ordinal()];
+    }
+
+    long getTotalNanos(Section section) {
+        return totalNanos[section.ordinal()];
+    }
+}
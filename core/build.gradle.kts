@@ -0,0 +1,14 @@
+// Platform-independent game simulation: entities, physics, pathfinding and layout.
+// Plain Java so it can be unit tested and benchmarked on the JVM without Android.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
@@ -1,6 +1,7 @@
 package org.example.bonuses;
 
 import org.example.entities.Teacher;
+import org.example.game.EntityStore;
 import org.example.game.GameEngine;
 
 import java.util.List;
@@ -25,29 +26,19 @@ public class AnotherTeacherBonus implements Bonus {
     @Override
     public void activate(GameEngine gameEngine) {
         List<Teacher> teachers = gameEngine.getTeachers();
+        EntityStore entities = gameEngine.getEntityStore();
         
-        // Find teachers with kids and teachers without kids
-        List<Teacher> teachersWithKids = new java.util.ArrayList<>();
-        List<Teacher> teachersWithoutKids = new java.util.ArrayList<>();
+        Random random = gameEngine.getRandom();
         
-        for (Teacher teacher : teachers) {
-            if (teacher.isAway()) {
-                continue; // Skip teachers that are already away
-            }
-            
-            if (teacher.getGuardedFriend() != null && 
-                !teacher.getGuardedFriend().isRescued()) {
-                teachersWithKids.add(teacher);
-            } else {
-                teachersWithoutKids.add(teacher);
-            }
-        }
+        // Pick a teacher with a kid and one without, skipping teachers that are already away
+        int withKid = entities.pickTeacher(EntityStore.TEACHER_GUARDING, EntityStore.TEACHER_AWAY, random);
+        int withoutKid = withKid < 0 ? -1
+                : entities.pickTeacher(0, EntityStore.TEACHER_GUARDING | EntityStore.TEACHER_AWAY, random);
         
         // If we have both types, make one teacher with kid go talk with one without kid
-        if (!teachersWithKids.isEmpty() && !teachersWithoutKids.isEmpty()) {
-            Random random = new Random();
-            Teacher teacherWithKid = teachersWithKids.get(random.nextInt(teachersWithKids.size()));
-            Teacher teacherWithoutKid = teachersWithoutKids.get(random.nextInt(teachersWithoutKids.size()));
+        if (withoutKid >= 0) {
+            Teacher teacherWithKid = teachers.get(withKid);
+            Teacher teacherWithoutKid = teachers.get(withoutKid);
             
             // Teacher with kid goes to the teacher without kid
             teacherWithKid.goTalkWithTeacher(teacherWithoutKid, TALK_DURATION);
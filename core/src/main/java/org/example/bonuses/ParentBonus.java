@@ -1,6 +1,7 @@
 package org.example.bonuses;
 
 import org.example.entities.Teacher;
+import org.example.game.EntityStore;
 import org.example.game.GameEngine;
 
 import java.util.List;
@@ -25,21 +26,15 @@ public class ParentBonus implements Bonus {
     @Override
     public void activate(GameEngine gameEngine) {
         List<Teacher> teachers = gameEngine.getTeachers();
+        EntityStore entities = gameEngine.getEntityStore();
         
-        // Find teachers that are guarding a friend (not rescued)
-        List<Teacher> teachersWithKids = new java.util.ArrayList<>();
-        for (Teacher teacher : teachers) {
-            if (teacher.getGuardedFriend() != null && 
-                !teacher.getGuardedFriend().isRescued() &&
-                !teacher.isAway()) {
-                teachersWithKids.add(teacher);
-            }
-        }
+        Random random = gameEngine.getRandom();
+        
+        // Randomly select one of the teachers guarding a friend (not rescued) to go talk with parent
+        int teacherWithKid = entities.pickTeacher(EntityStore.TEACHER_GUARDING, EntityStore.TEACHER_AWAY, random);
         
-        if (!teachersWithKids.isEmpty()) {
-            // Randomly select one teacher to go talk with parent
-            Random random = new Random();
-            Teacher selectedTeacher = teachersWithKids.get(random.nextInt(teachersWithKids.size()));
+        if (teacherWithKid >= 0) {
+            Teacher selectedTeacher = teachers.get(teacherWithKid);
             
             // Place parent at a random location away from the teacher
             float parentX = selectedTeacher.getCenterX() + (random.nextFloat() - 0.5f) * 300f;
@@ -0,0 +1,98 @@
+package org.example.entities;
+
+import org.example.geometry.Bounds;
+
+public abstract class Entity {
+    protected float x;
+    protected float y;
+    protected float width;
+    protected float height;
+    protected float velocityX;
+    protected float velocityY;
+    protected float speed;
+    // Position at the start of the current simulation step (for render interpolation)
+    protected float previousX;
+    protected float previousY;
+    
+    public Entity(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.previousX = x;
+        this.previousY = y;
+        this.width = width;
+        this.height = height;
+        this.velocityX = 0;
+        this.velocityY = 0;
+        this.speed = 0;
+    }
+    
+    public abstract void update(float deltaTime);
+    
+    public Bounds getBounds() {
+        return new Bounds(x, y, x + width, y + height);
+    }
+    
+    public boolean intersects(Entity other) {
+        return intersects(other.x, other.y, other.x + other.width, other.y + other.height);
+    }
+    
+    /**
+     * Checks if this entity overlaps a rectangle, without allocating bounds
+     * (same rules as {@link Bounds#intersects(float, float, float, float)})
+     */
+    public boolean intersects(float left, float top, float right, float bottom) {
+        return x < right && left < x + width && y < bottom && top < y + height;
+    }
+    
+    public float getX() {
+        return x;
+    }
+    
+    public float getY() {
+        return y;
+    }
+    
+    public float getWidth() {
+        return width;
+    }
+    
+    public float getHeight() {
+        return height;
+    }
+    
+    public float getCenterX() {
+        return x + width / 2;
+    }
+    
+    public float getCenterY() {
+        return y + height / 2;
+    }
+    
+    public void setPosition(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+    
+    /**
+     * Remembers the current position as the start of the next simulation step.
+     * Called once per fixed step before the entity is updated.
+     */
+    public void capturePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+    
+    /**
+     * Gets the X position at the start of the current simulation step
+     */
+    public float getPreviousX() {
+        return previousX;
+    }
+    
+    /**
+     * Gets the Y position at the start of the current simulation step
+     */
+    public float getPreviousY() {
+        return previousY;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.entities;
+
+import org.example.game.SpriteMetrics;
+
+public class Friend extends Entity {
+    private boolean rescued = false;
+    private SpriteMetrics spriteMetrics;
+    
+    public Friend(float x, float y, SpriteMetrics spriteMetrics) {
+        super(x, y, 30, 30);
+        this.spriteMetrics = spriteMetrics;
+        
+        // Update size if sprite is available
+        if (spriteMetrics != null) {
+            this.width = spriteMetrics.getFriendWidth();
+            this.height = spriteMetrics.getFriendHeight();
+        }
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        // Friends don't move
+    }
+    
+    public boolean isRescued() {
+        return rescued;
+    }
+    
+    public void rescue() {
+        this.rescued = true;
+    }
+}
+
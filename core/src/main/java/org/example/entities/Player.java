@@ -1,10 +1,6 @@
 package org.example.entities;
 
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
-
-import org.example.game.SpriteManager;
+import org.example.game.SpriteMetrics;
 
 public class Player extends Entity {
     private static final float DEFAULT_SPEED = 200f; // pixels per second
@@ -12,21 +8,17 @@ public class Player extends Entity {
     private boolean movingDown = false;
     private boolean movingLeft = false;
     private boolean movingRight = false;
-    private Paint paint;
-    private SpriteManager spriteManager;
+    private SpriteMetrics spriteMetrics;
 
-    public Player(float x, float y, SpriteManager spriteManager) {
+    public Player(float x, float y, SpriteMetrics spriteMetrics) {
         super(x, y, 40, 40);
         this.speed = DEFAULT_SPEED;
-        this.spriteManager = spriteManager;
-        this.paint = new Paint();
-        this.paint.setColor(Color.BLUE);
-        this.paint.setStyle(Paint.Style.FILL);
+        this.spriteMetrics = spriteMetrics;
         
         // Update size if sprite is available
-        if (spriteManager != null) {
-            this.width = spriteManager.getPlayerWidth();
-            this.height = spriteManager.getPlayerHeight();
+        if (spriteMetrics != null) {
+            this.width = spriteMetrics.getPlayerWidth();
+            this.height = spriteMetrics.getPlayerHeight();
         }
     }
 
@@ -55,18 +47,6 @@ public class Player extends Entity {
         y += velocityY * deltaTime;
     }
 
-    @Override
-    public void draw(Canvas canvas, float cameraX, float cameraY) {
-        // Draw at world coordinates - camera transform is already applied to canvas
-        if (spriteManager != null && spriteManager.getPlayerSprite() != null) {
-            // Draw sprite if available
-            spriteManager.drawSprite(canvas, spriteManager.getPlayerSprite(), x, y, width, height);
-        } else {
-            // Fallback to colored rectangle
-            canvas.drawRect(x, y, x + width, y + height, paint);
-        }
-    }
-
     public void setMovingUp(boolean moving) {
         this.movingUp = moving;
     }
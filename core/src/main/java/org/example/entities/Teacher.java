@@ -1,17 +1,12 @@
 package org.example.entities;
 
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Path;
-
 import org.example.game.DeadEndFillingPathfinder;
+import org.example.game.EntityStore;
 import org.example.game.SchoolLayout;
-import org.example.game.SpriteManager;
+import org.example.game.SpriteMetrics;
 import org.example.game.VisionCone;
 import org.example.game.WallAwarenessSystem;
 
-import java.util.List;
 import java.util.Random;
 
 public class Teacher extends Entity {
@@ -20,9 +15,8 @@ public class Teacher extends Entity {
     private static final float DETECTION_RADIUS = 250f; // Distance to detect player
     private static final float CHASE_SPEED_MULTIPLIER = 0.9f; // Speed multiplier when chasing
 
-    private Paint paint;
     private Random random;
-    private SpriteManager spriteManager;
+    private SpriteMetrics spriteMetrics;
     private float directionChangeTimer = 0f;
     private float directionChangeInterval = 2f; // Change direction every 2 seconds
     private float currentDirection = 0f; // Angle in radians
@@ -41,6 +35,9 @@ public class Teacher extends Entity {
     private float lastSuccessfulMoveY = 0f;
     private float unstuckDirectionChangeTimer = 0f; // Timer for changing direction during unstuck
     private static final float UNSTUCK_DIRECTION_CHANGE_INTERVAL = 0.3f; // Change direction every 0.3 seconds
+    private int stuckCount = 0; // Times unstuck mode was entered
+    private int unstuckCount = 0; // Times unstuck mode ended by moving away
+    private int unstuckTimeoutCount = 0; // Times unstuck mode gave up after UNSTUCK_DURATION
 
     // Guard behavior
     private Friend guardedFriend; // The friend this teacher is guarding
@@ -90,44 +87,39 @@ public class Teacher extends Entity {
     private boolean isSearchingForOpening = false; // True when vision hits wall and we're rotating to find opening
     private float openingSearchDirection = 0f; // Direction we found an opening toward
     private float rotationSpeed = (float) (Math.PI * 2); // Radians per second for rotation
-    private Float targetOpeningDirection = null; // Direction to opening we're moving toward
+    private float targetOpeningDirection = Float.NaN; // Direction to opening we're moving toward (NaN = none)
+    // Candidate directions, reused every tick
+    private final float[] directionScratch = new float[Math.max(
+            DeadEndFillingPathfinder.DIRECTION_COUNT, WallAwarenessSystem.MAX_ALTERNATIVE_DIRECTIONS)];
     
     // Debug visualization
     // To enable vision cone visualization, set: Teacher.SHOW_VISION_CONE = true;
     // Or call: Teacher.setVisionConeVisualization(true);
     // Or double-tap the screen during gameplay to toggle
     public static boolean SHOW_VISION_CONE = true; // Toggle to show/hide vision cone (default: true for testing)
-    private Paint visionConePaint;
-    private Paint visionConeOutlinePaint;
 
-    public Teacher(float x, float y, SpriteManager spriteManager) {
+    public Teacher(float x, float y, SpriteMetrics spriteMetrics) {
+        this(x, y, spriteMetrics, new Random());
+    }
+
+    /**
+     * @param random Source of the teacher's random choices; seed it for reproducible runs
+     */
+    public Teacher(float x, float y, SpriteMetrics spriteMetrics, Random random) {
         super(x, y, 40, 40);
         this.speed = DEFAULT_SPEED;
-        this.spriteManager = spriteManager;
-        this.random = new Random();
+        this.spriteMetrics = spriteMetrics;
+        this.random = random;
         this.currentDirection = (float) (random.nextDouble() * Math.PI * 2); // Random initial direction
         this.lastX = x;
         this.lastY = y;
         this.lastSuccessfulMoveX = x;
         this.lastSuccessfulMoveY = y;
-        this.paint = new Paint();
-        this.paint.setColor(Color.RED);
-        this.paint.setStyle(Paint.Style.FILL);
-        
-        // Initialize vision cone debug paints
-        visionConePaint = new Paint();
-        visionConePaint.setColor(Color.argb(100, 255, 255, 0)); // More visible semi-transparent yellow fill
-        visionConePaint.setStyle(Paint.Style.FILL);
-        
-        visionConeOutlinePaint = new Paint();
-        visionConeOutlinePaint.setColor(Color.argb(255, 255, 200, 0)); // Bright yellow outline
-        visionConeOutlinePaint.setStyle(Paint.Style.STROKE);
-        visionConeOutlinePaint.setStrokeWidth(3f); // Thicker outline for better visibility
         
         // Update size if sprite is available
-        if (spriteManager != null) {
-            this.width = spriteManager.getTeacherWidth();
-            this.height = spriteManager.getTeacherHeight();
+        if (spriteMetrics != null) {
+            this.width = spriteMetrics.getTeacherWidth();
+            this.height = spriteMetrics.getTeacherHeight();
         }
         
         // Vision cone will be initialized when schoolLayout is available
@@ -152,10 +144,11 @@ public class Teacher extends Entity {
     public void update(float deltaTime) {
         // This method is called by the overloaded update method
         // The actual update logic is in update(float deltaTime, SchoolLayout, Player,
-        // List<Friend>)
+        // List<Friend>, EntityStore)
     }
 
-    public void update(float deltaTime, SchoolLayout schoolLayout, Player player, java.util.List<Friend> allFriends) {
+    public void update(float deltaTime, SchoolLayout schoolLayout, Player player, java.util.List<Friend> allFriends,
+            EntityStore entities) {
         // Initialize pathfinder if needed (lazy initialization)
         initializePathfinder(schoolLayout, schoolLayout.getWorldWidth(), schoolLayout.getWorldHeight());
         
@@ -252,7 +245,7 @@ public class Teacher extends Entity {
                     lastDistanceToTarget = distanceToTarget;
 
                     // If stuck for too long, try alternative directions
-                    if (stuckAtTargetCounter > 30) { // Stuck for ~0.5 seconds at 60fps
+                    if (stuckAtTargetCounter > 30) { // Stuck for ~0.5 seconds at the 60 Hz simulation rate
                         // Try moving perpendicular to the target direction
                         float perpAngle = (float) Math.atan2(dy, dx) + (float) (Math.PI / 2);
                         if (random.nextBoolean()) {
@@ -381,7 +374,7 @@ public class Teacher extends Entity {
             guardCenterY = guardedFriend.getCenterY();
         } else if (guardedFriend != null && guardedFriend.isRescued()) {
             // Friend was rescued, find a new one to guard
-            guardedFriend = findNearestUnguardedFriend(allFriends);
+            guardedFriend = findNearestUnguardedFriend(allFriends, entities);
             if (guardedFriend != null) {
                 guardCenterX = guardedFriend.getCenterX();
                 guardCenterY = guardedFriend.getCenterY();
@@ -500,16 +493,16 @@ public class Teacher extends Entity {
             if (!isSearchingForOpening) {
                 // Start searching for an opening
                 isSearchingForOpening = true;
-                targetOpeningDirection = null;
+                targetOpeningDirection = Float.NaN;
             }
             
             // Find an opening toward the target
-            if (targetOpeningDirection == null) {
+            if (Float.isNaN(targetOpeningDirection)) {
                 targetOpeningDirection = visionCone.findBestOpeningTowardTarget(
                     centerX, centerY, targetX, targetY, currentDirection);
             }
             
-            if (targetOpeningDirection != null) {
+            if (!Float.isNaN(targetOpeningDirection)) {
                 // Rotate toward the opening
                 float angleDiff = normalizeAngle(targetOpeningDirection - currentDirection);
                 if (angleDiff > Math.PI) {
@@ -522,7 +515,7 @@ public class Teacher extends Entity {
                     // Reached the opening direction
                     currentDirection = targetOpeningDirection;
                     isSearchingForOpening = false;
-                    targetOpeningDirection = null;
+                    targetOpeningDirection = Float.NaN;
                 } else {
                     // Rotate toward opening
                     if (angleDiff > 0) {
@@ -534,9 +527,9 @@ public class Teacher extends Entity {
                 }
             } else {
                 // No opening found, try rotating to find one
-                Float opening = visionCone.findOpening(centerX, centerY, currentDirection, 
+                float opening = visionCone.findOpening(centerX, centerY, currentDirection, 
                     (float) (Math.PI * 2), (float) (Math.PI / 18));
-                if (opening != null) {
+                if (!Float.isNaN(opening)) {
                     targetOpeningDirection = opening;
                 } else {
                     // No opening found, use wall awareness as fallback
@@ -548,7 +541,7 @@ public class Teacher extends Entity {
                         currentDirection = desiredDirection;
                     }
                     isSearchingForOpening = false;
-                    targetOpeningDirection = null;
+                    targetOpeningDirection = Float.NaN;
                 }
             }
         } else {
@@ -556,7 +549,7 @@ public class Teacher extends Entity {
             if (isSearchingForOpening) {
                 // We've passed through the opening, now head toward target
                 isSearchingForOpening = false;
-                targetOpeningDirection = null;
+                targetOpeningDirection = Float.NaN;
             }
             
             // Use normal pathfinding toward target
@@ -661,10 +654,10 @@ public class Teacher extends Entity {
         if (directionChangeTimer >= directionChangeInterval || stuckCounter > 5) {
             // Use Dead-End Filling to find valid directions
             if (pathfinder != null) {
-                List<Float> validDirections = pathfinder.getValidDirections(getCenterX(), getCenterY());
-                if (!validDirections.isEmpty()) {
+                int validDirections = pathfinder.getValidDirections(getCenterX(), getCenterY(), directionScratch);
+                if (validDirections > 0) {
                     // Choose a random valid direction
-                    currentDirection = validDirections.get(random.nextInt(validDirections.size()));
+                    currentDirection = directionScratch[random.nextInt(validDirections)];
                 } else {
                     // No valid directions, use random
                     float directionChange = (float) ((random.nextDouble() - 0.5) * Math.PI / 2);
@@ -702,24 +695,9 @@ public class Teacher extends Entity {
         }
     }
 
-    private Friend findNearestUnguardedFriend(java.util.List<Friend> allFriends) {
-        Friend nearest = null;
-        float minDistance = Float.MAX_VALUE;
-
-        for (Friend friend : allFriends) {
-            if (!friend.isRescued()) {
-                float dx = friend.getCenterX() - getCenterX();
-                float dy = friend.getCenterY() - getCenterY();
-                float distance = (float) Math.sqrt(dx * dx + dy * dy);
-
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nearest = friend;
-                }
-            }
-        }
-
-        return nearest;
+    private Friend findNearestUnguardedFriend(java.util.List<Friend> allFriends, EntityStore entities) {
+        int nearest = entities.findNearestFriend(getCenterX(), getCenterY());
+        return nearest >= 0 ? allFriends.get(nearest) : null;
     }
 
     /**
@@ -733,11 +711,11 @@ public class Teacher extends Entity {
         if (unstuckDirectionChangeTimer >= UNSTUCK_DIRECTION_CHANGE_INTERVAL) {
             // Use wall awareness to find a good direction
             if (wallAwareness != null) {
-                List<Float> alternatives = wallAwareness.getAlternativeDirections(
-                        getCenterX(), getCenterY(), width, height);
-                if (!alternatives.isEmpty()) {
+                int alternatives = wallAwareness.getAlternativeDirections(
+                        getCenterX(), getCenterY(), width, height, directionScratch);
+                if (alternatives > 0) {
                     // Choose a random alternative direction
-                    currentDirection = alternatives.get(random.nextInt(alternatives.size()));
+                    currentDirection = directionScratch[random.nextInt(alternatives)];
                 } else {
                     // No good alternatives, use random
                     currentDirection = (float) (random.nextDouble() * Math.PI * 2);
@@ -754,10 +732,10 @@ public class Teacher extends Entity {
             if (wallAwareness.hasWallAhead(getCenterX(), getCenterY(), currentDirection,
                     WALL_CHECK_DISTANCE, width, height)) {
                 // Wall ahead, find alternative
-                List<Float> alternatives = wallAwareness.getAlternativeDirections(
-                        getCenterX(), getCenterY(), width, height);
-                if (!alternatives.isEmpty()) {
-                    currentDirection = alternatives.get(random.nextInt(alternatives.size()));
+                int alternatives = wallAwareness.getAlternativeDirections(
+                        getCenterX(), getCenterY(), width, height, directionScratch);
+                if (alternatives > 0) {
+                    currentDirection = directionScratch[random.nextInt(alternatives)];
                 }
             }
         }
@@ -781,6 +759,7 @@ public class Teacher extends Entity {
 
         // If we've moved significantly, we're unstuck
         if (movedDistance > 30f) {
+            unstuckCount++;
             isUnstucking = false;
             unstuckTimer = 0f;
             unstuckDirectionChangeTimer = 0f;
@@ -789,6 +768,7 @@ public class Teacher extends Entity {
             lastSuccessfulMoveY = y;
         } else if (unstuckTimer >= UNSTUCK_DURATION) {
             // Time limit reached, exit unstuck mode anyway
+            unstuckTimeoutCount++;
             isUnstucking = false;
             unstuckTimer = 0f;
             unstuckDirectionChangeTimer = 0f;
@@ -810,17 +790,18 @@ public class Teacher extends Entity {
         // Check if we're stuck (multiple consecutive wall collisions)
         if (wallCollisionCounter >= WALL_COLLISION_THRESHOLD && !isUnstucking) {
             // Enter unstuck mode - use wall awareness to find alternative directions
+            stuckCount++;
             isUnstucking = true;
             unstuckTimer = 0f;
             unstuckDirectionChangeTimer = 0f;
 
             // Use wall awareness to find a good direction
             if (wallAwareness != null) {
-                List<Float> alternatives = wallAwareness.getAlternativeDirections(
-                        getCenterX(), getCenterY(), width, height);
-                if (!alternatives.isEmpty()) {
+                int alternatives = wallAwareness.getAlternativeDirections(
+                        getCenterX(), getCenterY(), width, height, directionScratch);
+                if (alternatives > 0) {
                     // Choose a random alternative direction
-                    currentDirection = alternatives.get(random.nextInt(alternatives.size()));
+                    currentDirection = directionScratch[random.nextInt(alternatives)];
                 } else {
                     // No good alternatives, use random
                     currentDirection = (float) (random.nextDouble() * Math.PI * 2);
@@ -888,66 +869,39 @@ public class Teacher extends Entity {
             currentDirection -= Math.PI * 2;
     }
 
-    @Override
-    public void draw(Canvas canvas, float cameraX, float cameraY) {
-        // Draw at world coordinates - camera transform is already applied to canvas
-        if (spriteManager != null && spriteManager.getTeacherSprite() != null) {
-            // Draw sprite if available
-            spriteManager.drawSprite(canvas, spriteManager.getTeacherSprite(), x, y, width, height);
-        } else {
-            // Fallback to colored rectangle
-            canvas.drawRect(x, y, x + width, y + height, paint);
-        }
-        
-        // Draw vision cone in debug mode
-        if (SHOW_VISION_CONE) {
-            if (visionCone != null) {
-                drawVisionCone(canvas);
-            }
-        }
+    /**
+     * Gets the direction the teacher is facing (radians)
+     */
+    public float getDirection() {
+        return currentDirection;
     }
-    
+
     /**
-     * Draws the vision cone for debugging purposes
+     * Gets the length of the vision cone, or 0 if it hasn't been created yet
      */
-    private void drawVisionCone(Canvas canvas) {
-        float centerX = getCenterX();
-        float centerY = getCenterY();
-        float length = visionCone.getLength();
-        float halfAngle = (float) (Math.PI / 8); // 22.5 degrees (half of 45 degrees)
-        
-        // Calculate cone vertices
-        // Center point (teacher position)
-        float startX = centerX;
-        float startY = centerY;
-        
-        // Left edge point
-        float leftAngle = currentDirection - halfAngle;
-        float leftX = centerX + (float) (Math.cos(leftAngle) * length);
-        float leftY = centerY + (float) (Math.sin(leftAngle) * length);
-        
-        // Right edge point
-        float rightAngle = currentDirection + halfAngle;
-        float rightX = centerX + (float) (Math.cos(rightAngle) * length);
-        float rightY = centerY + (float) (Math.sin(rightAngle) * length);
-        
-        // Create path for the cone triangle
-        Path conePath = new Path();
-        conePath.moveTo(startX, startY);
-        conePath.lineTo(leftX, leftY);
-        conePath.lineTo(rightX, rightY);
-        conePath.close();
-        
-        // Draw filled cone
-        canvas.drawPath(conePath, visionConePaint);
-        
-        // Draw outline
-        canvas.drawPath(conePath, visionConeOutlinePaint);
-        
-        // Draw center line (direction teacher is facing)
-        float centerEndX = centerX + (float) (Math.cos(currentDirection) * length);
-        float centerEndY = centerY + (float) (Math.sin(currentDirection) * length);
-        canvas.drawLine(centerX, centerY, centerEndX, centerEndY, visionConeOutlinePaint);
+    public float getVisionConeLength() {
+        return visionCone != null ? visionCone.getLength() : 0f;
+    }
+
+    /**
+     * Gets how many times this teacher got stuck against walls and entered unstuck mode
+     */
+    public int getStuckCount() {
+        return stuckCount;
+    }
+
+    /**
+     * Gets how many times unstuck mode ended because the teacher moved away from the wall
+     */
+    public int getUnstuckCount() {
+        return unstuckCount;
+    }
+
+    /**
+     * Gets how many times unstuck mode gave up without the teacher getting free
+     */
+    public int getUnstuckTimeoutCount() {
+        return unstuckTimeoutCount;
     }
 
     public boolean isChasing() {
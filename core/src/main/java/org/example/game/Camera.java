@@ -0,0 +1,178 @@
+package org.example.game;
+
+import org.example.geometry.Bounds;
+
+/**
+ * The part of the world shown on screen. The position is the world point at the screen's
+ * top-left corner; zoom is screen pixels per world pixel, so zooming out shows a larger
+ * part of the world (the visible size) in the same viewport.
+ */
+public class Camera {
+    public static final float MAX_ZOOM = 2f;
+    // Zooming out stops once the whole world fits, but never before this
+    private static final float MIN_ZOOM_LIMIT = 0.25f;
+
+    private float x;
+    private float y;
+    private float viewportWidth;
+    private float viewportHeight;
+    private float worldWidth;
+    private float worldHeight;
+    private float zoom = 1f;
+    // Position after the previous simulation step (for render interpolation)
+    private float previousX;
+    private float previousY;
+    
+    public Camera(float viewportWidth, float viewportHeight, float worldWidth, float worldHeight) {
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.x = 0;
+        this.y = 0;
+    }
+    
+    public void update(float targetX, float targetY) {
+        // Center camera on target (player)
+        x = targetX - getVisibleWidth() / 2;
+        y = targetY - getVisibleHeight() / 2;
+        clampPosition();
+    }
+    
+    private void clampPosition() {
+        // Clamp camera to world boundaries
+        x = Math.max(0, Math.min(x, worldWidth - getVisibleWidth()));
+        y = Math.max(0, Math.min(y, worldHeight - getVisibleHeight()));
+    }
+    
+    public float getX() {
+        return x;
+    }
+    
+    public float getY() {
+        return y;
+    }
+    
+    /**
+     * Remembers the current position as the start of the next simulation step
+     */
+    public void capturePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+    
+    /**
+     * Gets the X position after the previous simulation step
+     */
+    public float getPreviousX() {
+        return previousX;
+    }
+    
+    /**
+     * Gets the Y position after the previous simulation step
+     */
+    public float getPreviousY() {
+        return previousY;
+    }
+    
+    public float getViewportWidth() {
+        return viewportWidth;
+    }
+    
+    public float getViewportHeight() {
+        return viewportHeight;
+    }
+    
+    /**
+     * Gets the width of the world area on screen, in world pixels
+     */
+    public float getVisibleWidth() {
+        return viewportWidth / zoom;
+    }
+    
+    /**
+     * Gets the height of the world area on screen, in world pixels
+     */
+    public float getVisibleHeight() {
+        return viewportHeight / zoom;
+    }
+    
+    public float getZoom() {
+        return zoom;
+    }
+    
+    /**
+     * Gets the smallest zoom, at which the whole world fits in the viewport
+     */
+    public float getMinZoom() {
+        float fit = Math.min(viewportWidth / worldWidth, viewportHeight / worldHeight);
+        return Math.max(MIN_ZOOM_LIMIT, Math.min(1f, fit));
+    }
+    
+    /**
+     * Sets the zoom, keeping the center of the screen in place
+     */
+    public void setZoom(float zoom) {
+        zoomBy(zoom / this.zoom, viewportWidth / 2, viewportHeight / 2);
+    }
+    
+    /**
+     * Multiplies the zoom by a factor, keeping the world point under the focus in place
+     * @param focusX Focus X position (screen coordinates)
+     * @param focusY Focus Y position (screen coordinates)
+     */
+    public void zoomBy(float factor, float focusX, float focusY) {
+        float worldFocusX = x + focusX / zoom;
+        float worldFocusY = y + focusY / zoom;
+        zoom = Math.max(getMinZoom(), Math.min(zoom * factor, MAX_ZOOM));
+        x = worldFocusX - focusX / zoom;
+        y = worldFocusY - focusY / zoom;
+        clampPosition();
+        // Zooming jumps immediately instead of interpolating
+        capturePreviousPosition();
+    }
+    
+    public Bounds getViewport() {
+        return new Bounds(x, y, x + getVisibleWidth(), y + getVisibleHeight());
+    }
+    
+    public void setWorldSize(float worldWidth, float worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+    
+    public void setViewportSize(float viewportWidth, float viewportHeight) {
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        // Re-clamp zoom and camera position with new viewport size
+        zoom = Math.max(getMinZoom(), Math.min(zoom, MAX_ZOOM));
+        clampPosition();
+        capturePreviousPosition();
+    }
+    
+    /**
+     * Pans the camera by the specified amount
+     * @param dx Amount to pan in X direction in world pixels (positive = right, negative = left)
+     * @param dy Amount to pan in Y direction in world pixels (positive = down, negative = up)
+     */
+    public void panBy(float dx, float dy) {
+        x += dx;
+        y += dy;
+        clampPosition();
+        // Manual moves jump immediately instead of interpolating
+        capturePreviousPosition();
+    }
+    
+    /**
+     * Sets the camera position directly
+     * @param x New X position
+     * @param y New Y position
+     */
+    public void setPosition(float x, float y) {
+        this.x = x;
+        this.y = y;
+        clampPosition();
+        capturePreviousPosition();
+    }
+}
+
@@ -0,0 +1,6 @@
+package org.example.game;
+
+enum CameraMode {
+    FOLLOW_PLAYER, // Camera automatically follows the player
+    MANUAL_PAN // Camera can be panned manually with touch gestures
+}
@@ -0,0 +1,150 @@
+package org.example.game;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free queue of {@link GameCommand}s from the UI to the simulation thread.
+ * Producers push onto an intrusive stack with a single CAS; the simulation thread
+ * takes the whole stack with one atomic swap and restores posting order. Commands
+ * are recycled through a pool, so steady-state input doesn't allocate.
+ *
+ * <p>Any number of threads may post, but {@link #obtain()} must only be called from
+ * one thread (the UI thread): the pool is a stack popped by that thread alone, which
+ * keeps it free of ABA problems without tagging. {@link #poll} and {@link #recycle}
+ * must only be called from the simulation thread.</p>
+ */
+public class CommandQueue {
+    private static final int INITIAL_POOL_SIZE = 32;
+
+    private final AtomicReference<GameCommand> inbox = new AtomicReference<>(); // Newest first
+    private final AtomicReference<GameCommand> pool = new AtomicReference<>();
+    private volatile GameClock clock = GameClock.SYSTEM;
+    private volatile Runnable postListener;
+
+    // Commands taken from the inbox but not yet due, oldest first (simulation thread only)
+    private GameCommand pendingHead;
+    private GameCommand pendingTail;
+
+    public CommandQueue() {
+        for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
+            recycle(new GameCommand());
+        }
+    }
+
+    /**
+     * Sets the clock used to timestamp posted commands (must match the simulation clock)
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Sets a callback run on the posting thread after each post (used to wake an idle simulation)
+     */
+    public void setPostListener(Runnable listener) {
+        this.postListener = listener;
+    }
+
+    /**
+     * Gets a cleared command to fill in. Allocates only if the pool is empty.
+     */
+    public GameCommand obtain() {
+        while (true) {
+            GameCommand head = pool.get();
+            if (head == null) {
+                return new GameCommand();
+            }
+            if (pool.compareAndSet(head, head.next)) {
+                head.next = null;
+                return head;
+            }
+        }
+    }
+
+    /**
+     * Timestamps a command and hands it to the simulation thread
+     */
+    public void post(GameCommand command) {
+        command.timestampNanos = clock.nanoTime();
+        while (true) {
+            GameCommand head = inbox.get();
+            command.next = head;
+            if (inbox.compareAndSet(head, command)) {
+                break;
+            }
+        }
+        Runnable listener = postListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Checks whether any command is waiting to be applied (simulation thread only)
+     */
+    public boolean hasPending() {
+        return pendingHead != null || inbox.get() != null;
+    }
+
+    /**
+     * Gets the oldest command posted at or before the given time, or null if there is none.
+     * The caller must {@link #recycle} the command once it has been applied.
+     * @param upToNanos Tick boundary; commands posted later stay queued for a later tick
+     */
+    public GameCommand poll(long upToNanos) {
+        if (pendingHead == null) {
+            takeInbox();
+        }
+        GameCommand command = pendingHead;
+        if (command == null || command.timestampNanos > upToNanos) {
+            return null;
+        }
+        pendingHead = command.next;
+        if (pendingHead == null) {
+            pendingTail = null;
+        }
+        command.next = null;
+        return command;
+    }
+
+    /**
+     * Moves everything posted so far to the pending list in posting order
+     */
+    private void takeInbox() {
+        GameCommand newestFirst = inbox.getAndSet(null);
+        GameCommand oldestFirst = null;
+        GameCommand tail = null;
+        while (newestFirst != null) {
+            GameCommand next = newestFirst.next;
+            newestFirst.next = oldestFirst;
+            if (oldestFirst == null) {
+                tail = newestFirst;
+            }
+            oldestFirst = newestFirst;
+            newestFirst = next;
+        }
+        if (oldestFirst == null) {
+            return;
+        }
+        if (pendingTail == null) {
+            pendingHead = oldestFirst;
+        } else {
+            pendingTail.next = oldestFirst;
+        }
+        pendingTail = tail;
+    }
+
+    /**
+     * Returns an applied command to the pool
+     */
+    public void recycle(GameCommand command) {
+        command.clear();
+        while (true) {
+            GameCommand head = pool.get();
+            command.next = head;
+            if (pool.compareAndSet(head, command)) {
+                return;
+            }
+        }
+    }
+}
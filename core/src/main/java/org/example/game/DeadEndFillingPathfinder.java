@@ -1,14 +1,24 @@
 package org.example.game;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Implements the Dead-End Filling algorithm for maze navigation.
  * This algorithm identifies and marks dead ends in the maze, leaving only valid paths.
  */
 public class DeadEndFillingPathfinder {
     private static final float GRID_CELL_SIZE = 40f; // Size of each grid cell
+    public static final int DIRECTION_COUNT = 8;
+    private static final float[] DIRECTIONS = { // Directions tried when moving, as angles in radians
+        0f,                    // N
+        (float) (Math.PI / 4), // NE
+        (float) (Math.PI / 2), // E
+        (float) (3 * Math.PI / 4), // SE
+        (float) Math.PI,       // S
+        (float) (-3 * Math.PI / 4), // SW
+        (float) (-Math.PI / 2), // W
+        (float) (-Math.PI / 4)  // NW
+    };
+    private static final int[] NEIGHBOR_DX = {0, 1, 0, -1}; // N, E, S, W
+    private static final int[] NEIGHBOR_DY = {-1, 0, 1, 0};
     private boolean[][] walkableGrid; // true = walkable, false = wall/obstacle
     private boolean[][] deadEndGrid; // true = dead end (filled), false = valid path
     private int gridWidth;
@@ -73,7 +83,7 @@ public class DeadEndFillingPathfinder {
                 float cellCenterX = gridXToWorld(x) + GRID_CELL_SIZE / 2;
                 float cellCenterY = gridYToWorld(y) + GRID_CELL_SIZE / 2;
                 
-                if (wall.getBounds().contains(cellCenterX, cellCenterY)) {
+                if (wall.contains(cellCenterX, cellCenterY)) {
                     walkableGrid[y][x] = false;
                 }
             }
@@ -115,12 +125,10 @@ public class DeadEndFillingPathfinder {
      */
     private int countWalkableNeighbors(int x, int y) {
         int count = 0;
-        int[] dx = {0, 1, 0, -1}; // N, E, S, W
-        int[] dy = {-1, 0, 1, 0};
         
         for (int i = 0; i < 4; i++) {
-            int nx = x + dx[i];
-            int ny = y + dy[i];
+            int nx = x + NEIGHBOR_DX[i];
+            int ny = y + NEIGHBOR_DY[i];
             
             if (isValidCell(nx, ny) && 
                 walkableGrid[ny][nx] && 
@@ -186,26 +194,13 @@ public class DeadEndFillingPathfinder {
      * Returns an angle in radians
      */
     public float getDirectionToTarget(float fromX, float fromY, float toX, float toY) {
-        int fromGridX = worldToGridX(fromX);
-        int fromGridY = worldToGridY(fromY);
-        
         // Check all 8 directions (N, NE, E, SE, S, SW, W, NW)
-        float[] directions = {
-            0f,                    // N
-            (float) (Math.PI / 4), // NE
-            (float) (Math.PI / 2), // E
-            (float) (3 * Math.PI / 4), // SE
-            (float) Math.PI,       // S
-            (float) (-3 * Math.PI / 4), // SW
-            (float) (-Math.PI / 2), // W
-            (float) (-Math.PI / 4)  // NW
-        };
-        
         float bestDirection = (float) Math.atan2(toY - fromY, toX - fromX);
         float bestScore = Float.NEGATIVE_INFINITY;
         
         // Try each direction and score it
-        for (float dir : directions) {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            float dir = DIRECTIONS[i];
             float testX = fromX + (float) (Math.cos(dir) * GRID_CELL_SIZE * 2);
             float testY = fromY + (float) (Math.sin(dir) * GRID_CELL_SIZE * 2);
             
@@ -251,31 +246,24 @@ public class DeadEndFillingPathfinder {
     }
 
     /**
-     * Gets a list of valid directions (not leading to dead ends) from a position
+     * Gets the valid directions (not leading to dead ends) from a position
+     * 
+     * @param validDirs Receives the directions; needs room for {@link #DIRECTION_COUNT}
+     * @return Number of directions written to validDirs
      */
-    public List<Float> getValidDirections(float worldX, float worldY) {
-        List<Float> validDirs = new ArrayList<>();
-        float[] directions = {
-            0f,                    // N
-            (float) (Math.PI / 4), // NE
-            (float) (Math.PI / 2), // E
-            (float) (3 * Math.PI / 4), // SE
-            (float) Math.PI,       // S
-            (float) (-3 * Math.PI / 4), // SW
-            (float) (-Math.PI / 2), // W
-            (float) (-Math.PI / 4)  // NW
-        };
-        
-        for (float dir : directions) {
+    public int getValidDirections(float worldX, float worldY, float[] validDirs) {
+        int count = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            float dir = DIRECTIONS[i];
             float testX = worldX + (float) (Math.cos(dir) * GRID_CELL_SIZE * 2);
             float testY = worldY + (float) (Math.sin(dir) * GRID_CELL_SIZE * 2);
             
             if (!isInDeadEnd(testX, testY)) {
-                validDirs.add(dir);
+                validDirs[count++] = dir;
             }
         }
         
-        return validDirs;
+        return count;
     }
 }
 
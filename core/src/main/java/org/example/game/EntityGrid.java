@@ -0,0 +1,176 @@
+package org.example.game;
+
+import java.util.Arrays;
+
+/**
+ * Broadphase for moving entities: a loose uniform grid where each entity is filed under the
+ * cell holding its center, so inserting is one step however big the entity is. Queries widen
+ * the searched cells by the largest entity half-size inserted since the last clear, which keeps
+ * them exact, and only visit the entities near the queried area.
+ *
+ * Cells are singly linked lists threaded through int arrays. Clearing bumps a stamp instead of
+ * wiping the cells (a cell whose stamp is old counts as empty), so rebuilding every tick costs
+ * only the inserts. Nothing allocates once the grid has room for the entities.
+ */
+public class EntityGrid {
+    private static final float CELL_SIZE = 128f; // A few entities wide
+
+    private int cellColumns;
+    private int cellRows;
+    private int[] cellHeads = new int[0]; // First entity of each cell, valid if the cell's stamp is current
+    private int[] cellStamps = new int[0];
+    private int stamp = 0;
+    private int[] nextInCell = new int[0]; // Following entity in the same cell, or -1
+    private float[] centerX = new float[0];
+    private float[] centerY = new float[0];
+    private float maxHalfWidth;
+    private float maxHalfHeight;
+
+    /**
+     * Sizes the grid for a world and a number of entities, then clears it
+     */
+    public void reset(float worldWidth, float worldHeight, int capacity) {
+        // One extra cell so entities on the far world edge still have one
+        int columns = (int) (worldWidth / CELL_SIZE) + 1;
+        int rows = (int) (worldHeight / CELL_SIZE) + 1;
+        if (columns != cellColumns || rows != cellRows) {
+            cellColumns = columns;
+            cellRows = rows;
+            cellHeads = new int[columns * rows];
+            cellStamps = new int[columns * rows];
+            stamp = 0;
+        }
+        if (nextInCell.length < capacity) {
+            nextInCell = new int[capacity];
+            centerX = new float[capacity];
+            centerY = new float[capacity];
+        }
+        clear();
+    }
+
+    /**
+     * Removes every entity
+     */
+    public void clear() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(cellStamps, 0);
+            stamp = 0;
+        }
+        stamp++;
+        maxHalfWidth = 0;
+        maxHalfHeight = 0;
+    }
+
+    /**
+     * Files an entity under the cell holding its center
+     *
+     * @param index The entity's index, below the capacity given to {@link #reset}
+     */
+    public void insert(int index, float x, float y, float width, float height) {
+        float halfWidth = width / 2f;
+        float halfHeight = height / 2f;
+        centerX[index] = x + halfWidth;
+        centerY[index] = y + halfHeight;
+        maxHalfWidth = Math.max(maxHalfWidth, halfWidth);
+        maxHalfHeight = Math.max(maxHalfHeight, halfHeight);
+
+        int cell = getRow(centerY[index]) * cellColumns + getColumn(centerX[index]);
+        if (cellStamps[cell] != stamp) {
+            cellStamps[cell] = stamp;
+            cellHeads[cell] = -1;
+        }
+        nextInCell[index] = cellHeads[cell];
+        cellHeads[cell] = index;
+    }
+
+    /**
+     * Gets the column of the cell containing an X position; positions outside the world use the edge cells
+     */
+    private int getColumn(float x) {
+        return Math.max(0, Math.min((int) Math.floor(x / CELL_SIZE), cellColumns - 1));
+    }
+
+    private int getRow(float y) {
+        return Math.max(0, Math.min((int) Math.floor(y / CELL_SIZE), cellRows - 1));
+    }
+
+    /**
+     * Lists the entities that may overlap a rectangle: every one that does, plus some nearby ones
+     * the caller still has to test exactly. Order is unspecified.
+     *
+     * @param indexes Receives the entities' indexes; needs room for every inserted entity
+     * @return Number of indexes written
+     */
+    public int query(float left, float top, float right, float bottom, int[] indexes) {
+        int lastColumn = getColumn(right + maxHalfWidth);
+        int lastRow = getRow(bottom + maxHalfHeight);
+        int count = 0;
+        for (int cellY = getRow(top - maxHalfHeight); cellY <= lastRow; cellY++) {
+            for (int cellX = getColumn(left - maxHalfWidth); cellX <= lastColumn; cellX++) {
+                int cell = cellY * cellColumns + cellX;
+                if (cellStamps[cell] != stamp) {
+                    continue;
+                }
+                for (int i = cellHeads[cell]; i >= 0; i = nextInCell[i]) {
+                    indexes[count++] = i;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the entity whose center is nearest a point, searching rings of cells outwards and
+     * stopping once no unsearched cell can hold anything nearer. Ties go to the lowest index.
+     *
+     * @param excluded Entities to skip, by index; may be null
+     * @return The entity's index, or -1 if there is none
+     */
+    public int findNearest(float x, float y, boolean[] excluded) {
+        int originColumn = getColumn(x);
+        int originRow = getRow(y);
+        int maxRing = Math.max(Math.max(originColumn, cellColumns - 1 - originColumn),
+                Math.max(originRow, cellRows - 1 - originRow));
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (nearest >= 0) {
+                // Everything in this ring or beyond is at least this far along one axis
+                float reach = (ring - 1) * CELL_SIZE;
+                if (reach > nearestDistance) {
+                    break;
+                }
+            }
+            for (int cellY = originRow - ring; cellY <= originRow + ring; cellY++) {
+                if (cellY < 0 || cellY >= cellRows) {
+                    continue;
+                }
+                boolean edgeRow = cellY == originRow - ring || cellY == originRow + ring;
+                int step = edgeRow ? 1 : 2 * ring; // Rows inside the ring only have its two side cells
+                for (int cellX = originColumn - ring; cellX <= originColumn + ring; cellX += step) {
+                    if (cellX < 0 || cellX >= cellColumns) {
+                        continue;
+                    }
+                    int cell = cellY * cellColumns + cellX;
+                    if (cellStamps[cell] != stamp) {
+                        continue;
+                    }
+                    for (int i = cellHeads[cell]; i >= 0; i = nextInCell[i]) {
+                        if (excluded != null && excluded[i]) {
+                            continue;
+                        }
+                        float dx = centerX[i] - x;
+                        float dy = centerY[i] - y;
+                        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+                        if (distance < nearestDistance || (distance == nearestDistance && i < nearest)) {
+                            nearest = i;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+}
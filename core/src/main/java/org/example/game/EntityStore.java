@@ -0,0 +1,245 @@
+package org.example.game;
+
+import org.example.entities.Friend;
+import org.example.entities.Teacher;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Packed copy of the teachers' and friends' positions and states, one array per field,
+ * for the queries that look at every entity (catching, rescuing, HUD counts, picking bonus
+ * targets). Those loops walk a few primitive arrays instead of following a reference to each
+ * entity object.
+ *
+ * The entity objects stay the authority on their own state. The simulation writes each
+ * teacher here right after moving it, friends when the level is created and when they are
+ * rescued, and refreshes the teacher states after anything else changes them (bonuses,
+ * freezing, rescues). Simulation thread only.
+ *
+ * Overlap and nearest-friend queries go through {@link EntityGrid}s, so they only look at
+ * the entities near the queried spot. Friends never move, so theirs is built with the level;
+ * the teachers' is rebuilt on the first query after any teacher moved, once per tick.
+ */
+public class EntityStore {
+    // Teacher state bits
+    public static final int TEACHER_FROZEN = 1;
+    public static final int TEACHER_AWAY = 1 << 1;
+    public static final int TEACHER_CHASING = 1 << 2;
+    public static final int TEACHER_GUARDING = 1 << 3; // Guards a friend who hasn't been rescued
+
+    // Fields are package-private so snapshots can copy whole arrays
+    int teacherCount;
+    float[] teacherX = new float[0];
+    float[] teacherY = new float[0];
+    float[] teacherWidth = new float[0];
+    float[] teacherHeight = new float[0];
+    float[] teacherDirection = new float[0];
+    int[] teacherState = new int[0];
+
+    int friendCount;
+    int friendsRescued;
+    float[] friendX = new float[0];
+    float[] friendY = new float[0];
+    float[] friendWidth = new float[0];
+    float[] friendHeight = new float[0];
+    boolean[] friendRescued = new boolean[0];
+
+    private final EntityGrid teacherGrid = new EntityGrid();
+    private final EntityGrid friendGrid = new EntityGrid();
+    private boolean teacherGridStale = false;
+    private int[] candidates = new int[0]; // Grid query and teacher pick results
+
+    /**
+     * Replaces the contents with a new level's entities
+     */
+    void load(List<Teacher> teachers, List<Friend> friends, float worldWidth, float worldHeight) {
+        teacherCount = teachers.size();
+        if (teacherX.length < teacherCount) {
+            teacherX = new float[teacherCount];
+            teacherY = new float[teacherCount];
+            teacherWidth = new float[teacherCount];
+            teacherHeight = new float[teacherCount];
+            teacherDirection = new float[teacherCount];
+            teacherState = new int[teacherCount];
+        }
+        for (int i = 0; i < teacherCount; i++) {
+            writeTeacher(i, teachers.get(i));
+        }
+
+        friendCount = friends.size();
+        if (friendX.length < friendCount) {
+            friendX = new float[friendCount];
+            friendY = new float[friendCount];
+            friendWidth = new float[friendCount];
+            friendHeight = new float[friendCount];
+            friendRescued = new boolean[friendCount];
+        }
+        friendsRescued = 0;
+        for (int i = 0; i < friendCount; i++) {
+            Friend friend = friends.get(i);
+            friendX[i] = friend.getX();
+            friendY[i] = friend.getY();
+            friendWidth[i] = friend.getWidth();
+            friendHeight[i] = friend.getHeight();
+            friendRescued[i] = friend.isRescued();
+            if (friend.isRescued()) {
+                friendsRescued++;
+            }
+        }
+
+        teacherGrid.reset(worldWidth, worldHeight, teacherCount);
+        friendGrid.reset(worldWidth, worldHeight, friendCount);
+        for (int i = 0; i < friendCount; i++) {
+            friendGrid.insert(i, friendX[i], friendY[i], friendWidth[i], friendHeight[i]);
+        }
+        if (candidates.length < Math.max(teacherCount, friendCount)) {
+            candidates = new int[Math.max(teacherCount, friendCount)];
+        }
+        teacherGridStale = true;
+    }
+
+    /**
+     * Copies a teacher's position, size and state
+     */
+    void writeTeacher(int index, Teacher teacher) {
+        teacherX[index] = teacher.getX();
+        teacherY[index] = teacher.getY();
+        teacherWidth[index] = teacher.getWidth();
+        teacherHeight[index] = teacher.getHeight();
+        teacherDirection[index] = teacher.getDirection();
+        writeTeacherState(index, teacher);
+        teacherGridStale = true;
+    }
+
+    /**
+     * Copies a teacher's state bits only, after something other than moving changed them
+     */
+    void writeTeacherState(int index, Teacher teacher) {
+        int state = 0;
+        if (teacher.isFrozen()) {
+            state |= TEACHER_FROZEN;
+        }
+        if (teacher.isAway()) {
+            state |= TEACHER_AWAY;
+        }
+        if (teacher.isChasing()) {
+            state |= TEACHER_CHASING;
+        }
+        Friend guarded = teacher.getGuardedFriend();
+        if (guarded != null && !guarded.isRescued()) {
+            state |= TEACHER_GUARDING;
+        }
+        teacherState[index] = state;
+    }
+
+    void setFriendRescued(int index) {
+        if (!friendRescued[index]) {
+            friendRescued[index] = true;
+            friendsRescued++;
+        }
+    }
+
+    public int getTeacherCount() {
+        return teacherCount;
+    }
+
+    public int getFriendCount() {
+        return friendCount;
+    }
+
+    public int getFriendsRescued() {
+        return friendsRescued;
+    }
+
+    public boolean allFriendsRescued() {
+        return friendsRescued == friendCount;
+    }
+
+    /**
+     * Finds the first teacher overlapping a rectangle, skipping teachers in any of the given states
+     * (same rules as {@link org.example.entities.Entity#intersects(float, float, float, float)})
+     *
+     * @return The teacher's index, or -1 if none overlaps
+     */
+    public int findTouchingTeacher(float left, float top, float right, float bottom, int excludedStates) {
+        if (teacherGridStale) {
+            teacherGrid.clear();
+            for (int i = 0; i < teacherCount; i++) {
+                teacherGrid.insert(i, teacherX[i], teacherY[i], teacherWidth[i], teacherHeight[i]);
+            }
+            teacherGridStale = false;
+        }
+
+        // Lowest index wins, like a scan of the whole list
+        int found = -1;
+        int count = teacherGrid.query(left, top, right, bottom, candidates);
+        for (int c = 0; c < count; c++) {
+            int i = candidates[c];
+            if ((found < 0 || i < found) && (teacherState[i] & excludedStates) == 0
+                    && teacherX[i] < right && left < teacherX[i] + teacherWidth[i]
+                    && teacherY[i] < bottom && top < teacherY[i] + teacherHeight[i]) {
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the first friend not yet rescued overlapping a rectangle
+     *
+     * @return The friend's index, or -1 if none overlaps
+     */
+    public int findTouchingFriend(float left, float top, float right, float bottom) {
+        int found = -1;
+        int count = friendGrid.query(left, top, right, bottom, candidates);
+        for (int c = 0; c < count; c++) {
+            int i = candidates[c];
+            if ((found < 0 || i < found) && !friendRescued[i]
+                    && friendX[i] < right && left < friendX[i] + friendWidth[i]
+                    && friendY[i] < bottom && top < friendY[i] + friendHeight[i]) {
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the friend not yet rescued whose center is nearest a point
+     *
+     * @return The friend's index, or -1 if every friend has been rescued
+     */
+    public int findNearestFriend(float x, float y) {
+        return friendGrid.findNearest(x, y, friendRescued);
+    }
+
+    /**
+     * Counts the teachers in all of the given states
+     */
+    public int countTeachers(int states) {
+        int count = 0;
+        for (int i = 0; i < teacherCount; i++) {
+            if ((teacherState[i] & states) == states) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Picks one of the teachers in all of the required states and none of the excluded ones
+     *
+     * @param random Source for the pick, so seeded games pick the same teachers
+     * @return Index of the picked teacher, or -1 if none matches
+     */
+    public int pickTeacher(int requiredStates, int excludedStates, Random random) {
+        int count = 0;
+        for (int i = 0; i < teacherCount; i++) {
+            int state = teacherState[i];
+            if ((state & requiredStates) == requiredStates && (state & excludedStates) == 0) {
+                candidates[count++] = i;
+            }
+        }
+        return count == 0 ? -1 : candidates[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.game;
+
+/**
+ * Fixed-timestep accumulator for the game loop.
+ * Real elapsed time is accumulated and consumed in constant simulation steps,
+ * so teacher movement and AI do not depend on how long a frame took to draw.
+ * The leftover fraction of a step is exposed as an interpolation factor for rendering.
+ */
+public class FixedTimestep {
+    private final GameClock clock;
+    private final long stepNanos;
+    private final float stepSeconds;
+    private final int maxCatchUpSteps;
+    private long lastTimeNanos;
+    private long accumulatorNanos;
+    private boolean started = false;
+
+    /**
+     * @param clock Time source
+     * @param stepSeconds Length of one simulation step (e.g. 1/60 s)
+     * @param maxCatchUpSteps Maximum number of steps run in a single frame; time beyond
+     *                        that is dropped so a slow device doesn't spiral behind
+     */
+    public FixedTimestep(GameClock clock, float stepSeconds, int maxCatchUpSteps) {
+        this.clock = clock;
+        this.stepSeconds = stepSeconds;
+        this.stepNanos = (long) (stepSeconds * 1_000_000_000L);
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    /**
+     * Restarts the time base (e.g. after the loop was stopped) without running
+     * the time that passed in the meantime.
+     */
+    public void reset() {
+        lastTimeNanos = clock.nanoTime();
+        accumulatorNanos = 0;
+        started = true;
+    }
+
+    /**
+     * Accumulates the time elapsed since the previous call.
+     * @return Number of simulation steps to run this frame
+     */
+    public int advance() {
+        long now = clock.nanoTime();
+        if (!started) {
+            lastTimeNanos = now;
+            started = true;
+        }
+        long elapsed = now - lastTimeNanos;
+        lastTimeNanos = now;
+        if (elapsed < 0) {
+            elapsed = 0;
+        }
+
+        accumulatorNanos += elapsed;
+        int steps = (int) Math.min(accumulatorNanos / stepNanos, maxCatchUpSteps);
+        accumulatorNanos -= steps * stepNanos;
+
+        // Too far behind: drop the backlog instead of trying to catch up next frame
+        if (accumulatorNanos >= stepNanos) {
+            accumulatorNanos = accumulatorNanos % stepNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * Gets how far the current time is between the last simulated step and the next one (0-1).
+     * Used to interpolate entity positions when drawing.
+     */
+    public float getAlpha() {
+        return (float) accumulatorNanos / stepNanos;
+    }
+
+    /**
+     * Gets the clock time the last simulated step corresponds to
+     */
+    public long getStepTimeNanos() {
+        return lastTimeNanos - accumulatorNanos;
+    }
+
+    /**
+     * Gets how long until enough time has accumulated for the next step
+     */
+    public long getNanosUntilNextStep() {
+        return Math.max(0, stepNanos - (clock.nanoTime() - getStepTimeNanos()));
+    }
+
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+}
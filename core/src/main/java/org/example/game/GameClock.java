@@ -0,0 +1,19 @@
+package org.example.game;
+
+/**
+ * Time source for the game loop.
+ * Injected into the loop so the simulation can be driven by a fake clock
+ * (tests, headless runs) instead of the system timer.
+ */
+public interface GameClock {
+    /**
+     * Default clock backed by {@link System#nanoTime()}
+     */
+    GameClock SYSTEM = System::nanoTime;
+
+    /**
+     * Gets the current time in nanoseconds. Only differences between two
+     * readings are meaningful.
+     */
+    long nanoTime();
+}
@@ -0,0 +1,60 @@
+package org.example.game;
+
+/**
+ * A request from the UI to change the game, applied by the simulation thread.
+ * Commands are pooled by {@link CommandQueue}; obtain one, fill it in and post it,
+ * and don't touch it afterwards.
+ */
+public class GameCommand {
+    public enum Type {
+        SET_MOVEMENT, // flags = MOVE_* bits
+        SET_STATE, // state, expectedState (null = any)
+        PAN_CAMERA, // x, y = pan delta in screen pixels
+        ZOOM_CAMERA, // x = zoom factor, y, z = focus in screen pixels
+        SET_CAMERA_ZOOM, // x = zoom
+        SET_CAMERA_MODE, // cameraMode
+        ACTIVATE_BONUS_AT, // x, y = touch position, z = screen width
+        FREEZE_CAUGHT_TEACHER,
+        UPDATE_VIEWPORT // x, y = viewport size
+    }
+
+    // Movement flags for SET_MOVEMENT
+    public static final int MOVE_UP = 1;
+    public static final int MOVE_DOWN = 1 << 1;
+    public static final int MOVE_LEFT = 1 << 2;
+    public static final int MOVE_RIGHT = 1 << 3;
+
+    Type type;
+    float x;
+    float y;
+    float z;
+    int flags;
+    GameState state;
+    GameState expectedState;
+    CameraMode cameraMode;
+    long timestampNanos; // Clock time the command was posted
+
+    // Intrusive link used by the queue and the pool
+    GameCommand next;
+
+    void clear() {
+        type = null;
+        x = 0f;
+        y = 0f;
+        z = 0f;
+        flags = 0;
+        state = null;
+        expectedState = null;
+        cameraMode = null;
+        timestampNanos = 0;
+        next = null;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
@@ -0,0 +1,1043 @@
+package org.example.game;
+
+import org.example.bonuses.Bonus;
+import org.example.bonuses.PrincipalBonus;
+import org.example.bonuses.ParentBonus;
+import org.example.bonuses.AnotherTeacherBonus;
+import org.example.entities.Entity;
+import org.example.entities.Friend;
+import org.example.entities.Player;
+import org.example.entities.Teacher;
+import org.example.physics.CollisionDetector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+public class GameEngine {
+    public static final float FIXED_TIMESTEP = 1f / 60f; // Simulation runs at a fixed 60 Hz
+    public static final int MAX_CATCH_UP_STEPS = 5; // Max simulation steps per rendered frame
+
+    private volatile GameState state; // Written by the simulation thread, read by the UI
+    private Player player;
+    private List<Teacher> teachers;
+    private List<Friend> friends;
+    private final EntityStore entityStore = new EntityStore(); // Packed copy of the teachers and friends for queries
+    // Wall-free boxes around the player (slot 0) and the teachers (slot i + 1)
+    private final WallClearanceCache wallClearance = new WallClearanceCache();
+    private static final float MIN_PROGRESS_FRACTION = 0.5f; // A wall contact that leaves a teacher less of its move stops it
+    private Camera camera;
+    private SchoolLayout schoolLayout;
+    private final WorldConfig worldConfig;
+    private float worldWidth;
+    private float worldHeight;
+    private volatile CameraMode cameraMode = CameraMode.FOLLOW_PLAYER; // Default: follow player
+    private int score = 0;
+    private int friendsRescued = 0;
+    private Teacher teacherThatCaughtPlayer = null; // Track which teacher caught the player
+    private final GameEventDispatcher events = new GameEventDispatcher();
+    private final CommandQueue commands = new CommandQueue(); // UI requests applied at tick boundaries
+    private TickProfiler profiler = TickProfiler.NONE;
+
+    // Entity sizes (null = built-in defaults)
+    private SpriteMetrics spriteMetrics;
+
+    // Bonus system
+    private List<Bonus> availableBonuses;
+    private List<Bonus> collectedBonuses; // Bonuses collected by player
+    private volatile int collectedBonusCount; // Mirror of collectedBonuses.size() for UI hit tests
+    private Random random;
+    private static final float BONUS_CHANCE = 0.6f; // 60% chance to get a bonus when rescuing a friend
+    private String activeBonusMessage = null;
+    private float bonusMessageTimer = 0f;
+    private static final float BONUS_MESSAGE_DURATION = 2f; // Show message for 2 seconds
+    private boolean principalBonusActive = false; // Track if principal bonus is active
+    private float principalBonusTimer = 0f; // Timer for principal bonus timeout
+    private static final float PRINCIPAL_BONUS_TIMEOUT = 15f; // Principal bonus lasts max 15 seconds
+
+    // Bonus UI (shared with WorldRenderer so touches hit the drawn icons)
+    static final float BONUS_ICON_SIZE = 60f;
+    static final float BONUS_ICON_SPACING = 70f;
+    static final float BONUS_ICON_MARGIN = 20f;
+
+    /**
+     * @param spriteMetrics Sprite sizes for the entities, or null to use default sizes
+     */
+    public GameEngine(float viewportWidth, float viewportHeight, SpriteMetrics spriteMetrics) {
+        this(viewportWidth, viewportHeight, spriteMetrics, WorldConfig.DEFAULT);
+    }
+
+    /**
+     * @param spriteMetrics Sprite sizes for the entities, or null to use default sizes
+     * @param worldConfig   World size, room grid and number of teachers
+     */
+    public GameEngine(float viewportWidth, float viewportHeight, SpriteMetrics spriteMetrics,
+            WorldConfig worldConfig) {
+        this.worldConfig = worldConfig;
+        this.worldWidth = worldConfig.getWorldWidth();
+        this.worldHeight = worldConfig.getWorldHeight();
+        this.state = GameState.PLAYING;
+        this.camera = new Camera(viewportWidth, viewportHeight, worldWidth, worldHeight);
+        this.teachers = new ArrayList<>();
+        this.friends = new ArrayList<>();
+        this.random = worldConfig.hasSeed() ? new Random(worldConfig.getSeed()) : new Random();
+
+        this.spriteMetrics = spriteMetrics;
+
+        // Initialize bonus system
+        this.availableBonuses = new ArrayList<>();
+        this.availableBonuses.add(new PrincipalBonus());
+        this.availableBonuses.add(new ParentBonus());
+        this.availableBonuses.add(new AnotherTeacherBonus());
+        this.collectedBonuses = new ArrayList<>();
+        this.collectedBonuses.add(new PrincipalBonus());
+        this.collectedBonuses.add(new ParentBonus());
+        this.collectedBonuses.add(new AnotherTeacherBonus());
+        this.collectedBonusCount = collectedBonuses.size();
+
+        // Create school layout
+        this.schoolLayout = new SchoolLayout(worldConfig);
+
+        initializeLevel();
+    }
+
+    private void initializeLevel() {
+        // Initialize player at starting position (in a corridor)
+        player = new Player(150, 150, spriteMetrics);
+
+        // Add friends in rooms first
+        List<SchoolLayout.Room> rooms = schoolLayout.getRooms();
+        int friendCount = Math.min(worldConfig.getFriendCount(), rooms.size());
+        for (int i = 0; i < friendCount; i++) {
+            SchoolLayout.Room room = rooms.get(i);
+            // Place friend in center of room
+            float friendX = room.getX() + room.getWidth() / 2 - 15;
+            float friendY = room.getY() + room.getHeight() / 2 - 15;
+            friends.add(new Friend(friendX, friendY, spriteMetrics));
+        }
+
+        // Add teachers and assign them to guard friends
+        // Place teachers in corridors near their assigned friends, but distant from
+        // player
+        float playerStartX = 150f;
+        float playerStartY = 150f;
+        float minDistanceFromPlayer = 600f; // Minimum distance from player starting position
+
+        for (int i = 0; i < worldConfig.getTeacherCount() && !friends.isEmpty(); i++) {
+            // With more teachers than friends, several teachers guard the same friend
+            int friendIndex = i % friends.size();
+            int guardRound = i / friends.size();
+            Friend friend = friends.get(friendIndex);
+            SchoolLayout.Room friendRoom = rooms.get(friendIndex);
+
+            float roomCenterX = friendRoom.getX() + friendRoom.getWidth() / 2;
+            float roomCenterY = friendRoom.getY() + friendRoom.getHeight() / 2;
+
+            // Calculate direction away from player
+            float dirX = roomCenterX - playerStartX;
+            float dirY = roomCenterY - playerStartY;
+            float dirLength = (float) Math.sqrt(dirX * dirX + dirY * dirY);
+
+            float teacherX = 0;
+            float teacherY = 0;
+            boolean foundGoodPosition = false;
+
+            // Try different positions around the room (north, south, east, west)
+            float[] offsets = {
+                    // North of room
+                    0f, -120f,
+                    // South of room
+                    0f, 120f,
+                    // East of room
+                    120f, 0f,
+                    // West of room
+                    -120f, 0f
+            };
+
+            // Try to find a good position that's far enough from player
+            // Start at a different side for each extra guard of the same friend
+            for (int attempt = 0; attempt < offsets.length / 2; attempt++) {
+                int offsetIdx = ((attempt + guardRound) % (offsets.length / 2)) * 2;
+                float candidateX = roomCenterX + offsets[offsetIdx];
+                float candidateY = roomCenterY + offsets[offsetIdx + 1];
+
+                // Check distance from player
+                float dx = candidateX - playerStartX;
+                float dy = candidateY - playerStartY;
+                float distanceFromPlayer = (float) Math.sqrt(dx * dx + dy * dy);
+
+                // Check if position is in a corridor (not in a room) and far enough from player
+                if (distanceFromPlayer >= minDistanceFromPlayer &&
+                        schoolLayout.isInCorridor(candidateX, candidateY)) {
+                    teacherX = candidateX;
+                    teacherY = candidateY;
+                    foundGoodPosition = true;
+                    break;
+                }
+            }
+
+            // If no good position found, place further away from player
+            if (!foundGoodPosition) {
+                if (dirLength > 0) {
+                    // Normalize direction away from player
+                    dirX /= dirLength;
+                    dirY /= dirLength;
+
+                    // Start from room center and move away from player until we're far enough
+                    float baseDistance = 200f; // Start 200 pixels from room center
+                    teacherX = roomCenterX + dirX * baseDistance;
+                    teacherY = roomCenterY + dirY * baseDistance;
+
+                    // Check if this position is far enough from player
+                    float dx = teacherX - playerStartX;
+                    float dy = teacherY - playerStartY;
+                    float distanceFromPlayer = (float) Math.sqrt(dx * dx + dy * dy);
+
+                    // If not far enough, move further away
+                    if (distanceFromPlayer < minDistanceFromPlayer) {
+                        float additionalDistance = minDistanceFromPlayer - distanceFromPlayer + 50f;
+                        teacherX += dirX * additionalDistance;
+                        teacherY += dirY * additionalDistance;
+                    }
+
+                    // Try to find a nearby corridor position if current position is not in corridor
+                    if (!schoolLayout.isInCorridor(teacherX, teacherY)) {
+                        // Try positions in a spiral pattern around the calculated position
+                        float[] spiralOffsets = { 0f, -40f, 40f, 0f, 0f, 40f, -40f, 0f,
+                                0f, -80f, 80f, 0f, 0f, 80f, -80f, 0f };
+                        boolean foundCorridor = false;
+                        for (int offsetIdx = 0; offsetIdx < spiralOffsets.length; offsetIdx += 2) {
+                            float testX = teacherX + spiralOffsets[offsetIdx];
+                            float testY = teacherY + spiralOffsets[offsetIdx + 1];
+                            dx = testX - playerStartX;
+                            dy = testY - playerStartY;
+                            distanceFromPlayer = (float) Math.sqrt(dx * dx + dy * dy);
+
+                            if (distanceFromPlayer >= minDistanceFromPlayer &&
+                                    schoolLayout.isInCorridor(testX, testY)) {
+                                teacherX = testX;
+                                teacherY = testY;
+                                foundCorridor = true;
+                                break;
+                            }
+                        }
+                        // If still no corridor found, keep the calculated position
+                        // (it will be adjusted by collision detection)
+                    }
+                } else {
+                    // Fallback: place far east of room (away from player at 150, 150)
+                    teacherX = friendRoom.getX() + friendRoom.getWidth() + 500f;
+                    teacherY = friendRoom.getY() + friendRoom.getHeight() / 2;
+                }
+            }
+
+            // Final check: ensure teacher is at least minDistanceFromPlayer away
+            float dx = teacherX - playerStartX;
+            float dy = teacherY - playerStartY;
+            float distanceFromPlayer = (float) Math.sqrt(dx * dx + dy * dy);
+
+            if (distanceFromPlayer < minDistanceFromPlayer) {
+                // Force placement further away
+                if (dirLength > 0) {
+                    float dirXNorm = dirX / dirLength;
+                    float dirYNorm = dirY / dirLength;
+                    float neededDistance = minDistanceFromPlayer - distanceFromPlayer + 100f;
+                    teacherX += dirXNorm * neededDistance;
+                    teacherY += dirYNorm * neededDistance;
+                } else {
+                    // Move east (away from player at 150, 150)
+                    teacherX = playerStartX + minDistanceFromPlayer + 100f;
+                }
+            }
+
+            Teacher teacher = worldConfig.hasSeed()
+                    ? new Teacher(teacherX, teacherY, spriteMetrics, new Random(random.nextLong()))
+                    : new Teacher(teacherX, teacherY, spriteMetrics);
+            teacher.setGuardedFriend(friend);
+            settleIntoWorld(teacher);
+            teachers.add(teacher);
+        }
+
+        entityStore.load(teachers, friends, worldWidth, worldHeight);
+        wallClearance.reset(teachers.size() + 1);
+        friendsRescued = 0;
+        score = 0;
+    }
+
+    /**
+     * Advances the simulation by one fixed step, applying every queued command first
+     * 
+     * @param deltaTime Step length in seconds (normally {@link #FIXED_TIMESTEP})
+     */
+    public void update(float deltaTime) {
+        update(deltaTime, Long.MAX_VALUE);
+    }
+
+    /**
+     * Advances the simulation by one fixed step
+     * 
+     * @param deltaTime     Step length in seconds (normally {@link #FIXED_TIMESTEP})
+     * @param stepTimeNanos Clock time this step ends at; only commands posted up to
+     *                      then are applied, later ones wait for the next step
+     */
+    public void update(float deltaTime, long stepTimeNanos) {
+        applyCommands(stepTimeNanos);
+
+        // Remember where everything was so drawing can interpolate between steps
+        // (also done while not playing, so the frozen world isn't interpolated)
+        player.capturePreviousPosition();
+        for (int i = 0; i < teachers.size(); i++) {
+            Teacher teacher = teachers.get(i);
+            teacher.capturePreviousPosition();
+        }
+        camera.capturePreviousPosition();
+
+        if (state != GameState.PLAYING) {
+            return;
+        }
+
+        // Update player
+        profiler.begin(TickProfiler.Section.PLAYER);
+        float playerStartX = player.getX();
+        float playerStartY = player.getY();
+        player.update(deltaTime);
+        profiler.end(TickProfiler.Section.PLAYER);
+
+        profiler.begin(TickProfiler.Section.COLLISION);
+        // Brick walls stop the player's move at the first contact
+        sweepMove(player, 0, playerStartX, playerStartY);
+        // Check wall collisions for player (boundary walls)
+        if (CollisionDetector.checkWallCollision(player, worldWidth, worldHeight)) {
+            CollisionDetector.resolveWallCollision(player, worldWidth, worldHeight);
+        }
+        profiler.end(TickProfiler.Section.COLLISION);
+
+        // Update teachers
+        for (int i = 0; i < teachers.size(); i++) {
+            Teacher teacher = teachers.get(i);
+            // Store previous position for collision recovery
+            float prevX = teacher.getX();
+            float prevY = teacher.getY();
+
+            // Update teacher with player and friends information for guard/chase behavior
+            profiler.begin(TickProfiler.Section.TEACHER_AI);
+            teacher.update(deltaTime, schoolLayout, player, friends, entityStore);
+            profiler.end(TickProfiler.Section.TEACHER_AI);
+
+            profiler.begin(TickProfiler.Section.COLLISION);
+            float requestedX = teacher.getX() - prevX;
+            float requestedY = teacher.getY() - prevY;
+            // Brick walls stop the teacher's move at the first contact, which it slides along
+            boolean hitWall = sweepMove(teacher, i + 1, prevX, prevY);
+
+            // Check boundary walls
+            boolean hitBoundary = CollisionDetector.checkWallCollision(teacher, worldWidth, worldHeight);
+            if (hitBoundary) {
+                CollisionDetector.resolveWallCollision(teacher, worldWidth, worldHeight);
+            }
+
+            // A contact only counts when it held the teacher back; sliding along a wall still gets somewhere
+            if ((hitWall || hitBoundary) && isHeldBack(teacher, prevX, prevY, requestedX, requestedY)) {
+                teacher.onWallCollision();
+            }
+            entityStore.writeTeacher(i, teacher);
+            profiler.end(TickProfiler.Section.COLLISION);
+        }
+
+        // Check collisions
+        profiler.begin(TickProfiler.Section.COLLISION);
+        // Frozen teachers can't catch the player
+        float playerRight = player.getX() + player.getWidth();
+        float playerBottom = player.getY() + player.getHeight();
+        int collidingTeacher = entityStore.findTouchingTeacher(player.getX(), player.getY(), playerRight, playerBottom,
+                EntityStore.TEACHER_FROZEN);
+        if (collidingTeacher >= 0) {
+            teacherThatCaughtPlayer = teachers.get(collidingTeacher);
+            events.playerCaught();
+            changeState(GameState.QUESTION);
+        }
+
+        int rescuedFriend = entityStore.findTouchingFriend(player.getX(), player.getY(), playerRight, playerBottom);
+        profiler.end(TickProfiler.Section.COLLISION);
+
+        profiler.begin(TickProfiler.Section.BONUSES);
+        if (rescuedFriend >= 0) {
+            friends.get(rescuedFriend).rescue();
+            entityStore.setFriendRescued(rescuedFriend);
+            // Teachers guarding this friend aren't guarding anyone anymore
+            refreshTeacherStates();
+            friendsRescued++;
+            score += 100;
+            events.friendRescued(friendsRescued, friends.size());
+
+            // Randomly give a bonus (collect it, don't activate automatically)
+            if (random.nextFloat() < BONUS_CHANCE && !availableBonuses.isEmpty()) {
+                // Create a new instance of the bonus type
+                Bonus bonusTemplate = availableBonuses.get(random.nextInt(availableBonuses.size()));
+                Bonus collectedBonus = createBonusInstance(bonusTemplate);
+                collectedBonuses.add(collectedBonus);
+                collectedBonusCount = collectedBonuses.size();
+                events.bonusCollected(collectedBonus);
+                score += 50; // Bonus points for getting a bonus
+
+                // Show bonus message
+                activeBonusMessage = "Collected: " + collectedBonus.getName() + "!";
+                bonusMessageTimer = BONUS_MESSAGE_DURATION;
+            }
+        }
+
+        // Update bonus message timer
+        if (bonusMessageTimer > 0) {
+            bonusMessageTimer -= deltaTime;
+            if (bonusMessageTimer <= 0) {
+                activeBonusMessage = null;
+            }
+        }
+
+        // Check if principal bonus is active and all non-ignored teachers have arrived,
+        // or timeout
+        if (principalBonusActive) {
+            principalBonusTimer += deltaTime;
+
+            boolean allTeachersArrived = true;
+            for (int i = 0; i < teachers.size(); i++) {
+                Teacher teacher = teachers.get(i);
+                // Only check teachers that are going to office, haven't reached it, and aren't
+                // ignored
+                if (teacher.isGoingToPrincipalOffice() &&
+                        !teacher.hasReachedPrincipalOffice() &&
+                        !teacher.isIgnoredForPrincipalBonus()) {
+                    allTeachersArrived = false;
+                    break;
+                }
+            }
+
+            // End bonus if all teachers arrived OR timeout expired
+            if (allTeachersArrived || principalBonusTimer >= PRINCIPAL_BONUS_TIMEOUT) {
+                // Signal ALL teachers to return (including stuck ones)
+                for (int i = 0; i < teachers.size(); i++) {
+                    Teacher teacher = teachers.get(i);
+                    if (teacher.isGoingToPrincipalOffice()) {
+                        teacher.returnFromPrincipalOffice();
+                    }
+                }
+                refreshTeacherStates();
+                principalBonusActive = false;
+                principalBonusTimer = 0f;
+            }
+        }
+
+        // Check win condition
+        if (entityStore.allFriendsRescued() && friends.size() > 0) {
+            score += 500; // Bonus for completing level
+            changeState(GameState.GAME_OVER);
+        }
+        profiler.end(TickProfiler.Section.BONUSES);
+
+        // Update camera based on mode
+        profiler.begin(TickProfiler.Section.CAMERA);
+        if (cameraMode == CameraMode.FOLLOW_PLAYER) {
+            camera.update(player.getCenterX(), player.getCenterY());
+        }
+        profiler.end(TickProfiler.Section.CAMERA);
+        // If MANUAL_PAN mode, camera position is controlled by touch gestures
+    }
+
+    /**
+     * Copies the state the renderer needs into a pooled snapshot.
+     * Called on the simulation thread after each batch of steps.
+     * 
+     * @param snapshot      Snapshot to overwrite
+     * @param stepTimeNanos Clock time the current step corresponds to
+     */
+    public void writeSnapshot(WorldSnapshot snapshot, long stepTimeNanos) {
+        int teacherCount = teachers.size();
+        int friendCount = friends.size();
+        snapshot.ensureCapacity(teacherCount, friendCount, collectedBonuses.size());
+        snapshot.stepTimeNanos = stepTimeNanos;
+        snapshot.state = state;
+
+        snapshot.cameraPrevX = camera.getPreviousX();
+        snapshot.cameraPrevY = camera.getPreviousY();
+        snapshot.cameraX = camera.getX();
+        snapshot.cameraY = camera.getY();
+        snapshot.cameraZoom = camera.getZoom();
+        snapshot.viewportWidth = camera.getVisibleWidth();
+        snapshot.viewportHeight = camera.getVisibleHeight();
+
+        snapshot.playerPrevX = player.getPreviousX();
+        snapshot.playerPrevY = player.getPreviousY();
+        snapshot.playerX = player.getX();
+        snapshot.playerY = player.getY();
+        snapshot.playerWidth = player.getWidth();
+        snapshot.playerHeight = player.getHeight();
+
+        // Friends and the current teacher positions come straight from the entity store's arrays
+        EntityStore store = entityStore;
+        snapshot.friendCount = friendCount;
+        System.arraycopy(store.friendX, 0, snapshot.friendX, 0, friendCount);
+        System.arraycopy(store.friendY, 0, snapshot.friendY, 0, friendCount);
+        System.arraycopy(store.friendWidth, 0, snapshot.friendWidth, 0, friendCount);
+        System.arraycopy(store.friendHeight, 0, snapshot.friendHeight, 0, friendCount);
+        System.arraycopy(store.friendRescued, 0, snapshot.friendRescued, 0, friendCount);
+
+        snapshot.teacherCount = teacherCount;
+        System.arraycopy(store.teacherX, 0, snapshot.teacherX, 0, teacherCount);
+        System.arraycopy(store.teacherY, 0, snapshot.teacherY, 0, teacherCount);
+        System.arraycopy(store.teacherWidth, 0, snapshot.teacherWidth, 0, teacherCount);
+        System.arraycopy(store.teacherHeight, 0, snapshot.teacherHeight, 0, teacherCount);
+        System.arraycopy(store.teacherDirection, 0, snapshot.teacherDirection, 0, teacherCount);
+        for (int i = 0; i < teacherCount; i++) {
+            Teacher teacher = teachers.get(i);
+            snapshot.teacherPrevX[i] = teacher.getPreviousX();
+            snapshot.teacherPrevY[i] = teacher.getPreviousY();
+            snapshot.teacherVisionLength[i] = teacher.getVisionConeLength();
+            int state = store.teacherState[i];
+            int flags = 0;
+            if ((state & EntityStore.TEACHER_FROZEN) != 0) {
+                flags |= WorldSnapshot.TEACHER_FROZEN;
+            }
+            if ((state & EntityStore.TEACHER_AWAY) != 0) {
+                flags |= WorldSnapshot.TEACHER_AWAY;
+            }
+            if ((state & EntityStore.TEACHER_CHASING) != 0) {
+                flags |= WorldSnapshot.TEACHER_CHASING;
+            }
+            if (teacher.getVisionConeLength() > 0) {
+                flags |= WorldSnapshot.TEACHER_HAS_VISION_CONE;
+            }
+            snapshot.teacherFlags[i] = flags;
+        }
+        int teachersAway = store.countTeachers(EntityStore.TEACHER_AWAY);
+
+        snapshot.score = score;
+        snapshot.friendsRescued = friendsRescued;
+        snapshot.totalFriends = friendCount;
+        snapshot.teachersAway = teachersAway;
+        snapshot.bonusCount = collectedBonuses.size();
+        for (int i = 0; i < snapshot.bonusCount; i++) {
+            snapshot.bonuses[i] = collectedBonuses.get(i);
+        }
+        snapshot.bonusMessage = activeBonusMessage;
+        snapshot.bonusMessageTimer = bonusMessageTimer;
+        snapshot.principalBonusActive = principalBonusActive;
+        snapshot.principalBonusRemaining = PRINCIPAL_BONUS_TIMEOUT - principalBonusTimer;
+    }
+
+    public WorldConfig getWorldConfig() {
+        return worldConfig;
+    }
+
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    public SchoolLayout getSchoolLayout() {
+        return schoolLayout;
+    }
+
+    /**
+     * Creates a new instance of a bonus based on the template
+     */
+    private Bonus createBonusInstance(Bonus template) {
+        String name = template.getName();
+        if (name.contains("Principal")) {
+            return new PrincipalBonus();
+        } else if (name.contains("Parent")) {
+            return new ParentBonus();
+        } else if (name.contains("Another Teacher")) {
+            return new AnotherTeacherBonus();
+        }
+        return template; // Fallback
+    }
+
+    /**
+     * Handles touch event to activate bonuses. The hit test runs on the calling
+     * thread; the bonus itself is activated on the next simulation step.
+     * 
+     * @param x Screen X coordinate
+     * @param y Screen Y coordinate
+     * @return true if the touch was on a bonus icon
+     */
+    public boolean handleBonusTouch(float x, float y, float screenWidth) {
+        if (getBonusIconIndexAt(x, y, screenWidth, collectedBonusCount) < 0) {
+            return false;
+        }
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.ACTIVATE_BONUS_AT;
+        command.x = x;
+        command.y = y;
+        command.z = screenWidth;
+        commands.post(command);
+        return true;
+    }
+
+    /**
+     * Finds the bonus icon under a screen position
+     * 
+     * @return Index of the icon, or -1 if the position isn't on one
+     */
+    private static int getBonusIconIndexAt(float x, float y, float screenWidth, int iconCount) {
+        float startX = screenWidth - BONUS_ICON_MARGIN - BONUS_ICON_SIZE;
+        float startY = BONUS_ICON_MARGIN;
+
+        // Check if touch is in bonus icon area
+        if (x < startX || x > startX + BONUS_ICON_SIZE) {
+            return -1;
+        }
+
+        // Find which bonus was clicked
+        for (int i = 0; i < iconCount; i++) {
+            float iconY = startY + i * BONUS_ICON_SPACING;
+            if (y >= iconY && y <= iconY + BONUS_ICON_SIZE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void activateBonusAt(float x, float y, float screenWidth) {
+        int index = getBonusIconIndexAt(x, y, screenWidth, collectedBonuses.size());
+        if (index < 0) {
+            return; // The icon went away before the command was applied
+        }
+        // Activate this bonus
+        Bonus bonus = collectedBonuses.remove(index);
+        collectedBonusCount = collectedBonuses.size();
+        bonus.activate(this);
+        refreshTeacherStates();
+
+        // Show activation message
+        activeBonusMessage = "Used: " + bonus.getName() + "!";
+        bonusMessageTimer = BONUS_MESSAGE_DURATION;
+    }
+
+    /**
+     * Gets the queue the UI posts commands to
+     */
+    public CommandQueue getCommandQueue() {
+        return commands;
+    }
+
+    /**
+     * Applies the commands posted up to the given time, in posting order
+     * 
+     * @return true if any command was applied
+     */
+    private boolean applyCommands(long upToNanos) {
+        boolean applied = false;
+        GameCommand command;
+        while ((command = commands.poll(upToNanos)) != null) {
+            applyCommand(command);
+            commands.recycle(command);
+            applied = true;
+        }
+        return applied;
+    }
+
+    /**
+     * Checks whether UI commands are waiting to be applied (simulation thread only)
+     */
+    public boolean hasPendingCommands() {
+        return commands.hasPending();
+    }
+
+    /**
+     * Applies all queued commands without advancing the simulation.
+     * Used while the game is idle (paused or waiting for a question to be answered).
+     * 
+     * @return true if anything was applied
+     */
+    public boolean applyPendingCommands() {
+        // Nothing moves while idle, so don't interpolate across the change
+        player.capturePreviousPosition();
+        for (int i = 0; i < teachers.size(); i++) {
+            teachers.get(i).capturePreviousPosition();
+        }
+        camera.capturePreviousPosition();
+        return applyCommands(Long.MAX_VALUE);
+    }
+
+    private void applyCommand(GameCommand command) {
+        switch (command.type) {
+            case SET_MOVEMENT:
+                player.setMovingUp((command.flags & GameCommand.MOVE_UP) != 0);
+                player.setMovingDown((command.flags & GameCommand.MOVE_DOWN) != 0);
+                player.setMovingLeft((command.flags & GameCommand.MOVE_LEFT) != 0);
+                player.setMovingRight((command.flags & GameCommand.MOVE_RIGHT) != 0);
+                break;
+            case SET_STATE:
+                if (command.expectedState == null || command.expectedState == state) {
+                    changeState(command.state);
+                }
+                break;
+            case PAN_CAMERA:
+                // Negative because we want to move world in opposite direction; screen pixels cover 1/zoom world pixels
+                camera.panBy(-command.x / camera.getZoom(), -command.y / camera.getZoom());
+                break;
+            case ZOOM_CAMERA:
+                camera.zoomBy(command.x, command.y, command.z);
+                followPlayerAfterZoom();
+                break;
+            case SET_CAMERA_ZOOM:
+                camera.setZoom(command.x);
+                followPlayerAfterZoom();
+                break;
+            case SET_CAMERA_MODE:
+                applyCameraMode(command.cameraMode);
+                break;
+            case ACTIVATE_BONUS_AT:
+                activateBonusAt(command.x, command.y, command.z);
+                break;
+            case FREEZE_CAUGHT_TEACHER:
+                if (teacherThatCaughtPlayer != null) {
+                    teacherThatCaughtPlayer.freeze();
+                    teacherThatCaughtPlayer = null; // Reset after freezing
+                    refreshTeacherStates();
+                }
+                break;
+            case UPDATE_VIEWPORT:
+                // Update camera viewport size
+                camera.setViewportSize(command.x, command.y);
+                // Immediately update camera to current player position
+                camera.update(player.getCenterX(), player.getCenterY());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Checks whether an entity covered less than {@link #MIN_PROGRESS_FRACTION} of the move it asked for
+     */
+    private static boolean isHeldBack(Entity entity, float startX, float startY, float requestedX, float requestedY) {
+        float movedX = entity.getX() - startX;
+        float movedY = entity.getY() - startY;
+        float requested = requestedX * requestedX + requestedY * requestedY;
+        return movedX * movedX + movedY * movedY < requested * MIN_PROGRESS_FRACTION * MIN_PROGRESS_FRACTION;
+    }
+
+    /**
+     * Moves a newly placed entity inside the world and out of any wall it was placed in. Moves
+     * are swept, so an entity left overlapping a wall would stay wedged there.
+     */
+    private void settleIntoWorld(Entity entity) {
+        if (CollisionDetector.checkWallCollision(entity, worldWidth, worldHeight)) {
+            CollisionDetector.resolveWallCollision(entity, worldWidth, worldHeight);
+        }
+        WallGrid wallGrid = schoolLayout.getWallGrid();
+        for (int attempt = 0; attempt < 3 && CollisionDetector.checkWallCollision(entity, wallGrid); attempt++) {
+            CollisionDetector.resolveWallCollision(entity, wallGrid);
+        }
+    }
+
+    /**
+     * Replays the move an entity's update made from a start position as a swept move, so it
+     * stops at the first brick wall in the way and slides along it instead of ending up inside.
+     * An entity that starts out inside a wall (e.g. wedged in by the world edge) isn't swept, as
+     * the walls it touches would hold it in place; it moves freely and is pushed out if possible.
+     * Moves that stay inside the entity's cached wall-free box skip the wall tests.
+     * 
+     * @param slot The entity's slot in the wall clearance cache
+     * @return Whether a wall got in the way: it stopped part of the move, or the entity is left inside it
+     */
+    private boolean sweepMove(Entity entity, int slot, float startX, float startY) {
+        float dx = entity.getX() - startX;
+        float dy = entity.getY() - startY;
+        float width = entity.getWidth();
+        float height = entity.getHeight();
+        entity.setPosition(startX, startY);
+        // Same swept area as moveAndSlide; with no wall in it the move goes through untouched
+        if (wallClearance.isClear(slot, Math.min(startX, startX + dx), Math.min(startY, startY + dy),
+                Math.max(startX, startX + dx) + width, Math.max(startY, startY + dy) + height)) {
+            entity.setPosition(startX + dx, startY + dy);
+            return false;
+        }
+
+        WallGrid wallGrid = schoolLayout.getWallGrid();
+        boolean blocked = false;
+        if (CollisionDetector.checkWallCollision(entity, wallGrid)) {
+            entity.setPosition(startX + dx, startY + dy);
+        } else {
+            blocked = CollisionDetector.moveAndSlide(entity, dx, dy, wallGrid);
+        }
+        boolean clear = !CollisionDetector.checkWallCollision(entity, wallGrid);
+        if (!clear) {
+            CollisionDetector.resolveWallCollision(entity, wallGrid);
+            clear = !CollisionDetector.checkWallCollision(entity, wallGrid);
+        }
+        float right = entity.getX() + width;
+        float bottom = entity.getY() + height;
+        if (clear && !wallClearance.isClear(slot, entity.getX(), entity.getY(), right, bottom)) {
+            // Left its box (an entity pushing against a wall usually hasn't)
+            wallClearance.refresh(slot, entity.getX(), entity.getY(), right, bottom, wallGrid);
+        } else if (!clear) {
+            wallClearance.invalidate(slot);
+        }
+        return blocked || !clear;
+    }
+
+    /**
+     * Copies every teacher's state bits into the entity store after something other than
+     * the teacher's own update changed them
+     */
+    private void refreshTeacherStates() {
+        for (int i = 0; i < teachers.size(); i++) {
+            entityStore.writeTeacherState(i, teachers.get(i));
+        }
+    }
+
+    public List<Bonus> getCollectedBonuses() {
+        return collectedBonuses;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Requests a state change, applied on the next simulation step
+     */
+    public void setState(GameState state) {
+        postStateChange(state, null);
+    }
+
+    /**
+     * Requests a switch back to PLAYING, applied only if the game is still paused by then
+     */
+    public void resumeFromPause() {
+        postStateChange(GameState.PLAYING, GameState.PAUSED);
+    }
+
+    private void postStateChange(GameState state, GameState expectedState) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.SET_STATE;
+        command.state = state;
+        command.expectedState = expectedState;
+        commands.post(command);
+    }
+
+    /**
+     * Switches state and notifies listeners if it actually changed
+     */
+    private void changeState(GameState newState) {
+        GameState previousState = state;
+        state = newState;
+        if (previousState != newState) {
+            events.stateChanged(previousState, newState);
+        }
+    }
+
+    /**
+     * Registers a listener for game events (state changes, catches, rescues, bonuses)
+     */
+    public void addGameEventListener(GameEventListener listener) {
+        events.addListener(listener);
+    }
+
+    public void removeGameEventListener(GameEventListener listener) {
+        events.removeListener(listener);
+    }
+
+    /**
+     * Sets the executor game event listeners are called on.
+     * Events are raised on the simulation thread, and without an executor listeners are called
+     * right there; pass a UI thread executor to update views.
+     */
+    public void setEventExecutor(Executor executor) {
+        events.setExecutor(executor);
+    }
+
+    /**
+     * Sets the profiler told about each subsystem of {@link #update}.
+     * Call before the simulation starts; the profiler is used on the simulation thread.
+     * 
+     * @param profiler Profiler, or null to stop profiling
+     */
+    public void setTickProfiler(TickProfiler profiler) {
+        this.profiler = profiler != null ? profiler : TickProfiler.NONE;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Requests a change of the player's movement directions, applied on the next simulation step
+     */
+    public void setPlayerMovement(boolean up, boolean down, boolean left, boolean right) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.SET_MOVEMENT;
+        command.flags = (up ? GameCommand.MOVE_UP : 0)
+                | (down ? GameCommand.MOVE_DOWN : 0)
+                | (left ? GameCommand.MOVE_LEFT : 0)
+                | (right ? GameCommand.MOVE_RIGHT : 0);
+        commands.post(command);
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getFriendsRescued() {
+        return friendsRescued;
+    }
+
+    public int getTotalFriends() {
+        return friends.size();
+    }
+
+    public Teacher getTeacherThatCaughtPlayer() {
+        return teacherThatCaughtPlayer;
+    }
+
+    /**
+     * Requests that the teacher who caught the player is frozen, applied on the next simulation step
+     */
+    public void freezeTeacherThatCaughtPlayer() {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.FREEZE_CAUGHT_TEACHER;
+        commands.post(command);
+    }
+
+    /**
+     * Requests a new viewport size, applied on the next simulation step
+     */
+    public void updateViewport(float viewportWidth, float viewportHeight) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.UPDATE_VIEWPORT;
+        command.x = viewportWidth;
+        command.y = viewportHeight;
+        commands.post(command);
+    }
+
+    // Getters for bonus system
+    public List<Teacher> getTeachers() {
+        return teachers;
+    }
+
+    /**
+     * Gets the packed teacher and friend state, indexed like {@link #getTeachers()} and the friends
+     */
+    public EntityStore getEntityStore() {
+        return entityStore;
+    }
+
+    /**
+     * Gets the simulation's random source, seeded from the world config when it has a seed
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Adds a new bonus type to the available bonuses list
+     * This allows for easy extension with new bonus types
+     */
+    public void addBonus(Bonus bonus) {
+        availableBonuses.add(bonus);
+    }
+
+    /**
+     * Sets the principal bonus active state (called by PrincipalBonus)
+     */
+    public void setPrincipalBonusActive(boolean active) {
+        this.principalBonusActive = active;
+        if (active) {
+            // Reset timer when bonus is activated
+            this.principalBonusTimer = 0f;
+        }
+    }
+
+    /**
+     * Requests a manual camera pan (used when in MANUAL_PAN mode), applied on the
+     * next simulation step
+     * 
+     * @param dx Amount to pan in X direction (screen coordinates)
+     * @param dy Amount to pan in Y direction (screen coordinates)
+     */
+    public void panCamera(float dx, float dy) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.PAN_CAMERA;
+        command.x = dx;
+        command.y = dy;
+        commands.post(command);
+    }
+
+    /**
+     * Requests a zoom change by a factor around a focus point (pinch gestures), applied on the
+     * next simulation step. The zoom is limited between the whole world fitting on screen and
+     * {@link Camera#MAX_ZOOM}.
+     * 
+     * @param factor Amount to multiply the zoom by (above 1 zooms in)
+     * @param focusX Focus X position (screen coordinates)
+     * @param focusY Focus Y position (screen coordinates)
+     */
+    public void zoomCamera(float factor, float focusX, float focusY) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.ZOOM_CAMERA;
+        command.x = factor;
+        command.y = focusX;
+        command.z = focusY;
+        commands.post(command);
+    }
+
+    /**
+     * Requests a zoom (screen pixels per world pixel, 1 = normal), applied on the next simulation step
+     */
+    public void setCameraZoom(float zoom) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.SET_CAMERA_ZOOM;
+        command.x = zoom;
+        commands.post(command);
+    }
+
+    private void followPlayerAfterZoom() {
+        // The focus only matters in MANUAL_PAN mode; otherwise the player stays centered
+        if (cameraMode == CameraMode.FOLLOW_PLAYER) {
+            camera.update(player.getCenterX(), player.getCenterY());
+        }
+    }
+
+    /**
+     * Gets the current camera mode
+     */
+    public CameraMode getCameraMode() {
+        return cameraMode;
+    }
+
+    /**
+     * Requests a camera mode change, applied on the next simulation step
+     */
+    public void setCameraMode(CameraMode mode) {
+        GameCommand command = commands.obtain();
+        command.type = GameCommand.Type.SET_CAMERA_MODE;
+        command.cameraMode = mode;
+        commands.post(command);
+    }
+
+    private void applyCameraMode(CameraMode mode) {
+        this.cameraMode = mode;
+        // If switching to follow player mode, immediately update camera to player
+        // position
+        if (mode == CameraMode.FOLLOW_PLAYER && player != null) {
+            camera.update(player.getCenterX(), player.getCenterY());
+        }
+    }
+
+    /**
+     * Toggles between FOLLOW_PLAYER and MANUAL_PAN modes
+     */
+    public void toggleCameraMode() {
+        if (cameraMode == CameraMode.FOLLOW_PLAYER) {
+            setCameraMode(CameraMode.MANUAL_PAN);
+        } else {
+            setCameraMode(CameraMode.FOLLOW_PLAYER);
+        }
+    }
+}
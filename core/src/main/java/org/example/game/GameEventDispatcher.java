@@ -0,0 +1,174 @@
+package org.example.game;
+
+import org.example.bonuses.Bonus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queues game events raised on the simulation thread and delivers them to listeners
+ * through a single executor. Events are stored in a preallocated ring and drained by
+ * one reusable task, so raising an event doesn't allocate and a burst of events costs
+ * a single post to the UI thread. If listeners fall behind far enough to fill the ring,
+ * catches, rescues and bonuses are dropped before any state change is.
+ */
+public class GameEventDispatcher {
+    private static final int CAPACITY = 64;
+
+    private static final int STATE_CHANGED = 0;
+    private static final int PLAYER_CAUGHT = 1;
+    private static final int FRIEND_RESCUED = 2;
+    private static final int BONUS_COLLECTED = 3;
+
+    // Ring of pending events, guarded by this
+    private final int[] types = new int[CAPACITY];
+    private final GameState[] previousStates = new GameState[CAPACITY];
+    private final GameState[] newStates = new GameState[CAPACITY];
+    private final int[] firstValues = new int[CAPACITY];
+    private final int[] secondValues = new int[CAPACITY];
+    private final Bonus[] bonuses = new Bonus[CAPACITY];
+    private int head = 0;
+    private int count = 0;
+
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Runnable drainTask = this::drain;
+    private volatile Executor executor = Runnable::run;
+
+    /**
+     * Sets where listeners are called (e.g. a Handler on the main looper).
+     * By default they are called directly on the thread that raises the event.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void stateChanged(GameState previousState, GameState newState) {
+        enqueue(STATE_CHANGED, previousState, newState, 0, 0, null);
+    }
+
+    public void playerCaught() {
+        enqueue(PLAYER_CAUGHT, null, null, 0, 0, null);
+    }
+
+    public void friendRescued(int friendsRescued, int totalFriends) {
+        enqueue(FRIEND_RESCUED, null, null, friendsRescued, totalFriends, null);
+    }
+
+    public void bonusCollected(Bonus bonus) {
+        enqueue(BONUS_COLLECTED, null, null, 0, 0, bonus);
+    }
+
+    private void enqueue(int type, GameState previousState, GameState newState,
+            int first, int second, Bonus bonus) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (count == CAPACITY && !dropOldestLossy()) {
+                // Only state changes are queued; they stay, and a later one folds into the newest
+                if (type == STATE_CHANGED) {
+                    newStates[(head + count - 1) % CAPACITY] = newState;
+                }
+                return; // A drain is already pending for the queued events
+            }
+            int index = (head + count) % CAPACITY;
+            types[index] = type;
+            previousStates[index] = previousState;
+            newStates[index] = newState;
+            firstValues[index] = first;
+            secondValues[index] = second;
+            bonuses[index] = bonus;
+            count++;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(drainTask);
+        }
+    }
+
+    /**
+     * Makes room in a full ring by removing the oldest event other than a state change.
+     * Listeners still learn of a dropped catch from the QUESTION state change after it.
+     * @return Whether an event was removed
+     */
+    private boolean dropOldestLossy() {
+        for (int i = 0; i < count; i++) {
+            if (types[(head + i) % CAPACITY] != STATE_CHANGED) {
+                // Close the gap by moving the older events one slot forward
+                for (int j = i; j > 0; j--) {
+                    int to = (head + j) % CAPACITY;
+                    int from = (head + j - 1) % CAPACITY;
+                    types[to] = types[from];
+                    previousStates[to] = previousStates[from];
+                    newStates[to] = newStates[from];
+                    firstValues[to] = firstValues[from];
+                    secondValues[to] = secondValues[from];
+                    bonuses[to] = bonuses[from];
+                }
+                bonuses[head] = null;
+                head = (head + 1) % CAPACITY;
+                count--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delivers all pending events. Runs on the executor's thread.
+     */
+    private void drain() {
+        // Clear the flag first so events raised while draining schedule another drain
+        drainScheduled.set(false);
+        while (true) {
+            int type;
+            GameState previousState;
+            GameState newState;
+            int first;
+            int second;
+            Bonus bonus;
+            synchronized (this) {
+                if (count == 0) {
+                    return;
+                }
+                type = types[head];
+                previousState = previousStates[head];
+                newState = newStates[head];
+                first = firstValues[head];
+                second = secondValues[head];
+                bonus = bonuses[head];
+                bonuses[head] = null;
+                head = (head + 1) % CAPACITY;
+                count--;
+            }
+            for (GameEventListener listener : listeners) {
+                switch (type) {
+                    case STATE_CHANGED:
+                        listener.onStateChanged(previousState, newState);
+                        break;
+                    case PLAYER_CAUGHT:
+                        listener.onPlayerCaught();
+                        break;
+                    case FRIEND_RESCUED:
+                        listener.onFriendRescued(first, second);
+                        break;
+                    case BONUS_COLLECTED:
+                        listener.onBonusCollected(bonus);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+}
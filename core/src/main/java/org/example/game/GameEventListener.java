@@ -0,0 +1,35 @@
+package org.example.game;
+
+import org.example.bonuses.Bonus;
+
+/**
+ * Receives notifications about things that happen in the game.
+ * Callbacks are delivered on the thread of the executor given to
+ * {@link GameEngine#setEventExecutor} (the UI thread in the app). Until an executor is set they
+ * run directly on the thread that raised the event, which is the simulation thread.
+ */
+public interface GameEventListener {
+    /**
+     * Called when the game state changes (e.g. PLAYING to QUESTION or GAME_OVER)
+     */
+    default void onStateChanged(GameState previousState, GameState newState) {
+    }
+
+    /**
+     * Called when a teacher catches the player
+     */
+    default void onPlayerCaught() {
+    }
+
+    /**
+     * Called when the player rescues a friend
+     */
+    default void onFriendRescued(int friendsRescued, int totalFriends) {
+    }
+
+    /**
+     * Called when the player collects a bonus
+     */
+    default void onBonusCollected(Bonus bonus) {
+    }
+}
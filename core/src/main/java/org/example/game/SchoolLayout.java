@@ -6,6 +6,7 @@ import java.util.List;
 public class SchoolLayout {
     private List<Wall> walls;
     private List<Room> rooms;
+    private WallGrid wallGrid;
     private float worldWidth;
     private float worldHeight;
     private float principalOfficeX;
@@ -14,29 +15,39 @@ public class SchoolLayout {
     private static final float CORRIDOR_WIDTH = 220f; // Increased from 150f for much better navigation
     private static final float ROOM_SIZE = 300f; // Increased from 200f to make rooms larger
 
-    private SpriteManager spriteManager;
 
-    public SchoolLayout(float worldWidth, float worldHeight, SpriteManager spriteManager) {
+    private int roomsPerRow;
+    private int roomsPerCol;
+
+    public SchoolLayout(float worldWidth, float worldHeight) {
+        this(worldWidth, worldHeight, 4, 3);
+    }
+
+    public SchoolLayout(WorldConfig config) {
+        this(config.getWorldWidth(), config.getWorldHeight(), config.getRoomsPerRow(), config.getRoomsPerColumn());
+    }
+
+    public SchoolLayout(float worldWidth, float worldHeight, int roomsPerRow, int roomsPerCol) {
         this.worldWidth = worldWidth;
         this.worldHeight = worldHeight;
-        this.spriteManager = spriteManager;
+        this.roomsPerRow = roomsPerRow;
+        this.roomsPerCol = roomsPerCol;
         this.walls = new ArrayList<>();
         this.rooms = new ArrayList<>();
         generateLayout();
+        this.wallGrid = new WallGrid(walls, worldWidth, worldHeight);
     }
 
     private void generateLayout() {
         // Create outer walls
-        walls.add(new Wall(0, 0, worldWidth, WALL_THICKNESS, spriteManager)); // Top
-        walls.add(new Wall(0, worldHeight - WALL_THICKNESS, worldWidth, WALL_THICKNESS, spriteManager)); // Bottom
-        walls.add(new Wall(0, 0, WALL_THICKNESS, worldHeight, spriteManager)); // Left
-        walls.add(new Wall(worldWidth - WALL_THICKNESS, 0, WALL_THICKNESS, worldHeight, spriteManager)); // Right
+        walls.add(new Wall(0, 0, worldWidth, WALL_THICKNESS)); // Top
+        walls.add(new Wall(0, worldHeight - WALL_THICKNESS, worldWidth, WALL_THICKNESS)); // Bottom
+        walls.add(new Wall(0, 0, WALL_THICKNESS, worldHeight)); // Left
+        walls.add(new Wall(worldWidth - WALL_THICKNESS, 0, WALL_THICKNESS, worldHeight)); // Right
 
         // Create a grid of rooms with corridors
         float startX = 100;
         float startY = 100;
-        int roomsPerRow = 4;
-        int roomsPerCol = 3;
         float roomSpacing = ROOM_SIZE + CORRIDOR_WIDTH;
 
         // Create rooms
@@ -57,54 +68,52 @@ public class SchoolLayout {
                 if (row > 0) {
                     // Left segment
                     walls.add(
-                            new Wall(roomX, roomY, doorCenterX - doorWidth / 2 - roomX, WALL_THICKNESS, spriteManager));
+                            new Wall(roomX, roomY, doorCenterX - doorWidth / 2 - roomX, WALL_THICKNESS));
                     // Right segment
                     walls.add(new Wall(doorCenterX + doorWidth / 2, roomY,
-                            (roomX + ROOM_SIZE) - (doorCenterX + doorWidth / 2), WALL_THICKNESS, spriteManager));
+                            (roomX + ROOM_SIZE) - (doorCenterX + doorWidth / 2), WALL_THICKNESS));
                 } else {
                     // Full top wall for first row
-                    walls.add(new Wall(roomX, roomY, ROOM_SIZE, WALL_THICKNESS, spriteManager));
+                    walls.add(new Wall(roomX, roomY, ROOM_SIZE, WALL_THICKNESS));
                 }
 
                 // Bottom wall (with doorway if not last row)
                 if (row < roomsPerCol - 1) {
                     // Left segment
                     walls.add(new Wall(roomX, roomY + ROOM_SIZE - WALL_THICKNESS,
-                            doorCenterX - doorWidth / 2 - roomX, WALL_THICKNESS, spriteManager));
+                            doorCenterX - doorWidth / 2 - roomX, WALL_THICKNESS));
                     // Right segment
                     walls.add(new Wall(doorCenterX + doorWidth / 2, roomY + ROOM_SIZE - WALL_THICKNESS,
-                            (roomX + ROOM_SIZE) - (doorCenterX + doorWidth / 2), WALL_THICKNESS, spriteManager));
+                            (roomX + ROOM_SIZE) - (doorCenterX + doorWidth / 2), WALL_THICKNESS));
                 } else {
                     // Full bottom wall for last row
-                    walls.add(new Wall(roomX, roomY + ROOM_SIZE - WALL_THICKNESS, ROOM_SIZE, WALL_THICKNESS,
-                            spriteManager));
+                    walls.add(new Wall(roomX, roomY + ROOM_SIZE - WALL_THICKNESS, ROOM_SIZE, WALL_THICKNESS));
                 }
 
                 // Left wall (with doorway if not first column)
                 if (col > 0) {
                     // Top segment
                     walls.add(
-                            new Wall(roomX, roomY, WALL_THICKNESS, doorCenterY - doorWidth / 2 - roomY, spriteManager));
+                            new Wall(roomX, roomY, WALL_THICKNESS, doorCenterY - doorWidth / 2 - roomY));
                     // Bottom segment
                     walls.add(new Wall(roomX, doorCenterY + doorWidth / 2, WALL_THICKNESS,
-                            (roomY + ROOM_SIZE) - (doorCenterY + doorWidth / 2), spriteManager));
+                            (roomY + ROOM_SIZE) - (doorCenterY + doorWidth / 2)));
                 } else {
                     // Full left wall for first column
-                    walls.add(new Wall(roomX, roomY, WALL_THICKNESS, ROOM_SIZE, spriteManager));
+                    walls.add(new Wall(roomX, roomY, WALL_THICKNESS, ROOM_SIZE));
                 }
 
                 // Right wall (with doorway if not last column)
                 if (col < roomsPerRow - 1) {
                     // Top segment
                     walls.add(new Wall(roomX + ROOM_SIZE - WALL_THICKNESS, roomY, WALL_THICKNESS,
-                            doorCenterY - doorWidth / 2 - roomY, spriteManager));
+                            doorCenterY - doorWidth / 2 - roomY));
                     // Bottom segment
                     walls.add(new Wall(roomX + ROOM_SIZE - WALL_THICKNESS, doorCenterY + doorWidth / 2,
-                            WALL_THICKNESS, (roomY + ROOM_SIZE) - (doorCenterY + doorWidth / 2), spriteManager));
+                            WALL_THICKNESS, (roomY + ROOM_SIZE) - (doorCenterY + doorWidth / 2)));
                 } else {
                     // Full right wall for last column
-                    walls.add(new Wall(roomX + ROOM_SIZE - WALL_THICKNESS, roomY, WALL_THICKNESS, ROOM_SIZE,
-                            spriteManager));
+                    walls.add(new Wall(roomX + ROOM_SIZE - WALL_THICKNESS, roomY, WALL_THICKNESS, ROOM_SIZE));
                 }
             }
         }
@@ -125,6 +134,13 @@ public class SchoolLayout {
         return walls;
     }
 
+    /**
+     * Gets the walls sorted into a grid, for collision checks that only test nearby walls
+     */
+    public WallGrid getWallGrid() {
+        return wallGrid;
+    }
+
     public List<Room> getRooms() {
         return rooms;
     }
@@ -0,0 +1,121 @@
+package org.example.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the game simulation on its own thread at a fixed rate, independent of rendering.
+ * After each batch of steps the world is copied into a {@link SnapshotBuffer} for the
+ * render thread, so a slow frame never delays AI or physics and vice versa.
+ * While the game isn't PLAYING the thread parks and only wakes to apply UI commands.
+ */
+public class SimulationLoop implements Runnable {
+    private final GameEngine gameEngine;
+    private final SnapshotBuffer snapshots;
+    private final FixedTimestep timestep;
+    private volatile boolean running = true;
+    private volatile Thread thread;
+    private volatile boolean idle = false;
+    private volatile Runnable publishListener;
+
+    public SimulationLoop(GameEngine gameEngine, SnapshotBuffer snapshots, GameClock clock) {
+        this.gameEngine = gameEngine;
+        this.snapshots = snapshots;
+        this.timestep = new FixedTimestep(clock, GameEngine.FIXED_TIMESTEP, GameEngine.MAX_CATCH_UP_STEPS);
+        gameEngine.getCommandQueue().setPostListener(this::wake);
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        timestep.reset();
+        publishSnapshot(); // Give the renderer something to draw right away
+
+        while (running) {
+            if (gameEngine.getState() != GameState.PLAYING) {
+                idleUntilPlaying();
+                continue;
+            }
+
+            int steps = timestep.advance();
+            long stepNanos = timestep.getStepNanos();
+            long lastStepTimeNanos = timestep.getStepTimeNanos();
+            for (int i = 0; i < steps; i++) {
+                // Each step only sees the input posted before the end of the time it simulates
+                long stepTimeNanos = lastStepTimeNanos - (steps - 1 - i) * stepNanos;
+                gameEngine.update(timestep.getStepSeconds(), stepTimeNanos);
+            }
+            if (steps > 0) {
+                publishSnapshot();
+            }
+
+            // Sleep until the next step is due
+            long waitNanos = timestep.getNanosUntilNextStep();
+            if (waitNanos > 0 && running) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * Parks the thread while the game isn't being played. Queued commands are still
+     * applied as they arrive, and each batch publishes one snapshot for the renderer.
+     */
+    private void idleUntilPlaying() {
+        idle = true;
+        while (running && gameEngine.getState() != GameState.PLAYING) {
+            // Checked after setting idle, so a command posted before that isn't missed
+            if (!gameEngine.hasPendingCommands()) {
+                LockSupport.park(this);
+            }
+            if (gameEngine.applyPendingCommands()) {
+                publishSnapshot();
+            }
+        }
+        idle = false;
+        timestep.reset(); // Start from a clean time base instead of simulating the idle time
+    }
+
+    /**
+     * Wakes the thread if it is idle. Safe to call from any thread.
+     */
+    private void wake() {
+        Thread current = thread;
+        if (idle && current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void publishSnapshot() {
+        gameEngine.writeSnapshot(snapshots.getWriteSnapshot(), timestep.getStepTimeNanos());
+        snapshots.publish();
+        Runnable listener = publishListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets a callback run on the simulation thread after each published snapshot
+     */
+    public void setPublishListener(Runnable listener) {
+        this.publishListener = listener;
+    }
+
+    /**
+     * Asks the loop to exit after the current step
+     */
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /**
+     * Gets the length of a simulation step in nanoseconds
+     */
+    public long getStepNanos() {
+        return timestep.getStepNanos();
+    }
+}
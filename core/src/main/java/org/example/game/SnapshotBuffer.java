@@ -0,0 +1,58 @@
+package org.example.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer of {@link WorldSnapshot}s between the simulation and render threads.
+ * The writer always has a private snapshot to fill and the reader always holds the last
+ * complete one, so neither thread ever waits for the other. The third snapshot is the
+ * handoff slot that is swapped atomically on publish and acquire.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100; // Set when the handoff slot holds an unread snapshot
+
+    private final WorldSnapshot[] snapshots = {
+            new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot()
+    };
+    private final AtomicInteger handoff = new AtomicInteger(1); // Index of the handoff slot (+ FRESH)
+    private int writeIndex = 0; // Only touched by the simulation thread
+    private int readIndex = 2; // Only touched by the render thread
+    private boolean hasRead = false;
+
+    /**
+     * Gets the snapshot the simulation thread should fill next
+     */
+    public WorldSnapshot getWriteSnapshot() {
+        return snapshots[writeIndex];
+    }
+
+    /**
+     * Publishes the filled write snapshot and takes over the old handoff slot for the next write
+     */
+    public void publish() {
+        int previous = handoff.getAndSet(writeIndex | FRESH);
+        writeIndex = previous & INDEX_MASK;
+    }
+
+    /**
+     * Checks whether a snapshot was published since the last {@link #acquireLatest()}
+     */
+    public boolean hasUnread() {
+        return (handoff.get() & FRESH) != 0;
+    }
+
+    /**
+     * Gets the most recently published snapshot. The snapshot stays valid until the
+     * next call from the render thread.
+     * @return Latest snapshot, or null if nothing was published yet
+     */
+    public WorldSnapshot acquireLatest() {
+        if ((handoff.get() & FRESH) != 0) {
+            int previous = handoff.getAndSet(readIndex);
+            readIndex = previous & INDEX_MASK;
+            hasRead = true;
+        }
+        return hasRead ? snapshots[readIndex] : null;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.game;
+
+/**
+ * Sizes of the entity sprites. Entities take their collision size from these so
+ * the simulation matches what is drawn, without depending on the bitmaps themselves.
+ */
+public interface SpriteMetrics {
+    int getPlayerWidth();
+
+    int getPlayerHeight();
+
+    int getTeacherWidth();
+
+    int getTeacherHeight();
+
+    int getFriendWidth();
+
+    int getFriendHeight();
+}
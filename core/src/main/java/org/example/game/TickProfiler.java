@@ -0,0 +1,42 @@
+package org.example.game;
+
+/**
+ * Receives the boundaries of the subsystems run by {@link GameEngine#update},
+ * so headless runs can see where a tick's time goes.
+ * Sections may be entered several times per tick (teacher AI and collision run once per teacher).
+ */
+public interface TickProfiler {
+    /**
+     * Parts of a simulation step
+     */
+    enum Section {
+        PLAYER, // Player movement
+        TEACHER_AI, // Teacher behavior: guard, chase, pathfinding, vision
+        COLLISION, // Wall, teacher and friend collisions
+        BONUSES, // Rescues, bonuses and the win check
+        CAMERA // Camera follow
+    }
+
+    /**
+     * Default profiler that records nothing
+     */
+    TickProfiler NONE = new TickProfiler() {
+        @Override
+        public void begin(Section section) {
+        }
+
+        @Override
+        public void end(Section section) {
+        }
+    };
+
+    /**
+     * Called on the simulation thread when a section starts
+     */
+    void begin(Section section);
+
+    /**
+     * Called on the simulation thread when a section ends
+     */
+    void end(Section section);
+}
@@ -1,8 +1,5 @@
 package org.example.game;
 
-import android.graphics.RectF;
-
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -52,21 +49,21 @@ public class VisionCone {
             float centerYPoint = centerY + (float) (Math.sin(direction) * length * centerProgress);
             
             // Check if any of these points intersect with walls
-            for (Wall wall : walls) {
-                RectF wallBounds = wall.getBounds();
+            for (int w = 0; w < walls.size(); w++) {
+                Wall wall = walls.get(w);
                 
                 // Check left edge point
-                if (wallBounds.contains(leftX, leftY)) {
+                if (wall.contains(leftX, leftY)) {
                     return true;
                 }
                 
                 // Check right edge point
-                if (wallBounds.contains(rightX, rightY)) {
+                if (wall.contains(rightX, rightY)) {
                     return true;
                 }
                 
                 // Check center point
-                if (wallBounds.contains(centerXPoint, centerYPoint)) {
+                if (wall.contains(centerXPoint, centerYPoint)) {
                     return true;
                 }
             }
@@ -82,11 +79,9 @@ public class VisionCone {
      * @param startDirection Starting direction to search from
      * @param searchRange Range to search (in radians, e.g., Math.PI * 2 for full circle)
      * @param stepSize Step size for rotation (in radians)
-     * @return Direction to an opening, or null if none found
+     * @return Direction to an opening, or NaN if none found
      */
-    public Float findOpening(float centerX, float centerY, float startDirection, float searchRange, float stepSize) {
-        List<Wall> walls = schoolLayout.getWalls();
-        
+    public float findOpening(float centerX, float centerY, float startDirection, float searchRange, float stepSize) {
         // Search in both directions (clockwise and counter-clockwise)
         int steps = (int) (searchRange / stepSize);
         
@@ -106,7 +101,7 @@ public class VisionCone {
             }
         }
         
-        return null; // No opening found
+        return Float.NaN; // No opening found
     }
     
     /**
@@ -116,9 +111,9 @@ public class VisionCone {
      * @param targetX Target X position
      * @param targetY Target Y position
      * @param currentDirection Current facing direction
-     * @return Direction to an opening that's closest to the target direction
+     * @return Direction to an opening that's closest to the target direction, or NaN if none found
      */
-    public Float findBestOpeningTowardTarget(float centerX, float centerY, float targetX, float targetY, 
+    public float findBestOpeningTowardTarget(float centerX, float centerY, float targetX, float targetY, 
                                              float currentDirection) {
         // Calculate direction to target
         float targetDirection = (float) Math.atan2(targetY - centerY, targetX - centerX);
@@ -127,7 +122,7 @@ public class VisionCone {
         float searchRange = (float) (Math.PI * 2); // Full circle
         float stepSize = (float) (Math.PI / 18); // 10 degree steps
         
-        Float bestOpening = null;
+        float bestOpening = Float.NaN;
         float bestScore = Float.NEGATIVE_INFINITY;
         
         int steps = (int) (searchRange / stepSize);
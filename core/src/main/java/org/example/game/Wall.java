@@ -0,0 +1,54 @@
+package org.example.game;
+
+import org.example.geometry.Bounds;
+
+public class Wall {
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    
+    public Wall(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+    
+    public Bounds getBounds() {
+        return new Bounds(x, y, x + width, y + height);
+    }
+    
+    /**
+     * Checks if the wall overlaps a rectangle, without allocating bounds
+     * (same rules as {@link Bounds#intersects(float, float, float, float)})
+     */
+    public boolean intersects(float left, float top, float right, float bottom) {
+        return x < right && left < x + width && y < bottom && top < y + height;
+    }
+    
+    /**
+     * Checks whether a point is inside the wall, without allocating bounds
+     * (same rules as {@link Bounds#contains(float, float)})
+     */
+    public boolean contains(float pointX, float pointY) {
+        return width > 0 && height > 0
+                && pointX >= x && pointX < x + width && pointY >= y && pointY < y + height;
+    }
+    
+    public float getX() {
+        return x;
+    }
+    
+    public float getY() {
+        return y;
+    }
+    
+    public float getWidth() {
+        return width;
+    }
+    
+    public float getHeight() {
+        return height;
+    }
+}
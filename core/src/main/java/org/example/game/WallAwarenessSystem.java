@@ -1,93 +1,117 @@
 package org.example.game;
 
-import android.graphics.RectF;
-
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * System that caches wall positions and provides spatial queries to avoid getting stuck.
- * Uses spatial hashing for efficient wall lookups.
+ * Uses a uniform grid of cells over the world for efficient wall lookups.
  */
 public class WallAwarenessSystem {
-    private static final float CELL_SIZE = 100f; // Size of each spatial hash cell
-    private Map<String, List<Wall>> spatialHash; // Spatial hash: "x,y" -> List of walls in that cell
-    private List<Wall> allWalls; // All walls for fallback
+    private static final float CELL_SIZE = 100f; // Size of each grid cell
+    private static final Wall[] NO_WALLS = new Wall[0];
+    private static final float[] TEST_DIRECTION_OFFSETS = { // Directions tried around the desired one
+        0f,                             // 0 degrees
+        (float) (Math.PI / 4),          // 45 degrees
+        (float) (Math.PI / 2),          // 90 degrees
+        (float) (3 * Math.PI / 4),      // 135 degrees
+        (float) Math.PI,                // 180 degrees
+        (float) (-3 * Math.PI / 4),     // -135 degrees
+        (float) (-Math.PI / 2),         // -90 degrees
+        (float) (-Math.PI / 4)          // -45 degrees
+    };
+    public static final int MAX_ALTERNATIVE_DIRECTIONS = 8;
+
+    private Wall[][] cells; // Walls overlapping each cell, indexed by cellY * cellColumns + cellX
+    private int cellColumns;
+    private int cellRows;
     private float worldWidth;
     private float worldHeight;
     
     // Problematic areas where entities got stuck (for learning)
-    private Map<String, Integer> problematicAreas; // "x,y" -> count of times stuck here
+    private int[] problematicAreas; // Count of times stuck in each cell
     
     public WallAwarenessSystem(SchoolLayout schoolLayout, float worldWidth, float worldHeight) {
         this.worldWidth = worldWidth;
         this.worldHeight = worldHeight;
-        this.allWalls = new ArrayList<>(schoolLayout.getWalls());
-        this.spatialHash = new HashMap<>();
-        this.problematicAreas = new HashMap<>();
+        // One extra cell so walls on the far world edge still have one
+        this.cellColumns = (int) (worldWidth / CELL_SIZE) + 1;
+        this.cellRows = (int) (worldHeight / CELL_SIZE) + 1;
+        this.problematicAreas = new int[cellColumns * cellRows];
         
-        buildSpatialHash();
+        buildCells(schoolLayout.getWalls());
     }
     
     /**
-     * Builds a spatial hash for efficient wall lookups
+     * Sorts the walls into the cells they overlap
      */
-    private void buildSpatialHash() {
-        for (Wall wall : allWalls) {
-            RectF bounds = wall.getBounds();
-            
+    private void buildCells(List<Wall> walls) {
+        List<List<Wall>> cellLists = new ArrayList<>(cellColumns * cellRows);
+        for (int i = 0; i < cellColumns * cellRows; i++) {
+            cellLists.add(new ArrayList<>());
+        }
+        for (Wall wall : walls) {
             // Calculate which cells this wall occupies
-            int minCellX = (int) (bounds.left / CELL_SIZE);
-            int maxCellX = (int) (bounds.right / CELL_SIZE);
-            int minCellY = (int) (bounds.top / CELL_SIZE);
-            int maxCellY = (int) (bounds.bottom / CELL_SIZE);
+            int minCellX = clampColumn((int) (wall.getX() / CELL_SIZE));
+            int maxCellX = clampColumn((int) ((wall.getX() + wall.getWidth()) / CELL_SIZE));
+            int minCellY = clampRow((int) (wall.getY() / CELL_SIZE));
+            int maxCellY = clampRow((int) ((wall.getY() + wall.getHeight()) / CELL_SIZE));
             
             // Add wall to all cells it occupies
             for (int x = minCellX; x <= maxCellX; x++) {
                 for (int y = minCellY; y <= maxCellY; y++) {
-                    String key = x + "," + y;
-                    if (!spatialHash.containsKey(key)) {
-                        spatialHash.put(key, new ArrayList<>());
-                    }
-                    spatialHash.get(key).add(wall);
+                    cellLists.get(y * cellColumns + x).add(wall);
                 }
             }
         }
+        
+        cells = new Wall[cellColumns * cellRows][];
+        for (int i = 0; i < cells.length; i++) {
+            List<Wall> cellWalls = cellLists.get(i);
+            cells[i] = cellWalls.isEmpty() ? NO_WALLS : cellWalls.toArray(new Wall[0]);
+        }
+    }
+    
+    private int clampColumn(int cellX) {
+        return Math.max(0, Math.min(cellX, cellColumns - 1));
+    }
+    
+    private int clampRow(int cellY) {
+        return Math.max(0, Math.min(cellY, cellRows - 1));
     }
     
     /**
-     * Gets the spatial hash key for a position
+     * Gets the index of the cell containing a position, or -1 if it's outside the world
      */
-    private String getCellKey(float x, float y) {
+    private int getCellIndex(float x, float y) {
         int cellX = (int) (x / CELL_SIZE);
         int cellY = (int) (y / CELL_SIZE);
-        return cellX + "," + cellY;
+        if (cellX < 0 || cellX >= cellColumns || cellY < 0 || cellY >= cellRows) {
+            return -1;
+        }
+        return cellY * cellColumns + cellX;
     }
     
     /**
      * Checks if a position would collide with any wall
      */
     public boolean wouldCollide(float x, float y, float width, float height) {
-        RectF testBounds = new RectF(x, y, x + width, y + height);
+        float right = x + width;
+        float bottom = y + height;
         
-        // Get cells that might contain walls
-        int minCellX = (int) (x / CELL_SIZE);
-        int maxCellX = (int) ((x + width) / CELL_SIZE);
-        int minCellY = (int) (y / CELL_SIZE);
-        int maxCellY = (int) ((y + height) / CELL_SIZE);
+        // Get cells that might contain walls (cells outside the world have none)
+        int minCellX = clampColumn((int) Math.floor(x / CELL_SIZE));
+        int maxCellX = clampColumn((int) Math.floor(right / CELL_SIZE));
+        int minCellY = clampRow((int) Math.floor(y / CELL_SIZE));
+        int maxCellY = clampRow((int) Math.floor(bottom / CELL_SIZE));
         
         // Check walls in relevant cells
-        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
-            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
-                String key = cellX + "," + cellY;
-                List<Wall> walls = spatialHash.get(key);
-                if (walls != null) {
-                    for (Wall wall : walls) {
-                        if (testBounds.intersect(wall.getBounds())) {
-                            return true;
-                        }
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                Wall[] walls = cells[cellY * cellColumns + cellX];
+                for (int i = 0; i < walls.length; i++) {
+                    if (walls[i].intersects(x, y, right, bottom)) {
+                        return true;
                     }
                 }
             }
@@ -139,23 +163,13 @@ public class WallAwarenessSystem {
             return desiredDirection;
         }
         
-        // Try 8 directions around the desired direction
-        float[] testDirections = {
-            desiredDirection,                           // 0 degrees
-            desiredDirection + (float) (Math.PI / 4),   // 45 degrees
-            desiredDirection + (float) (Math.PI / 2),   // 90 degrees
-            desiredDirection + (float) (3 * Math.PI / 4), // 135 degrees
-            desiredDirection + (float) Math.PI,         // 180 degrees
-            desiredDirection - (float) (3 * Math.PI / 4), // -135 degrees
-            desiredDirection - (float) (Math.PI / 2),   // -90 degrees
-            desiredDirection - (float) (Math.PI / 4)    // -45 degrees
-        };
-        
-        // Find the best direction (closest to desired that doesn't hit a wall)
+        // Find the best of 8 directions around the desired direction
+        // (closest to desired that doesn't hit a wall)
         float bestDirection = desiredDirection;
         float bestScore = Float.NEGATIVE_INFINITY;
         
-        for (float dir : testDirections) {
+        for (int i = 0; i < TEST_DIRECTION_OFFSETS.length; i++) {
+            float dir = desiredDirection + TEST_DIRECTION_OFFSETS[i];
             if (!hasWallAhead(fromX, fromY, dir, checkDistance, entityWidth, entityHeight)) {
                 // Calculate score: prefer directions closer to desired direction
                 float angleDiff = Math.abs(normalizeAngle(dir - desiredDirection));
@@ -190,23 +204,29 @@ public class WallAwarenessSystem {
      * Marks an area as problematic (where entity got stuck)
      */
     public void markProblematicArea(float x, float y) {
-        String key = getCellKey(x, y);
-        problematicAreas.put(key, problematicAreas.getOrDefault(key, 0) + 1);
+        int cell = getCellIndex(x, y);
+        if (cell >= 0) {
+            problematicAreas[cell]++;
+        }
     }
     
     /**
      * Checks if an area is problematic (has been stuck before)
      */
     public boolean isProblematicArea(float x, float y) {
-        String key = getCellKey(x, y);
-        return problematicAreas.containsKey(key) && problematicAreas.get(key) > 2;
+        int cell = getCellIndex(x, y);
+        return cell >= 0 && problematicAreas[cell] > 2;
     }
     
     /**
      * Gets alternative directions when stuck, avoiding problematic areas
+     * 
+     * @param alternatives Receives the directions; needs room for {@link #MAX_ALTERNATIVE_DIRECTIONS}
+     * @return Number of directions written to alternatives
      */
-    public List<Float> getAlternativeDirections(float fromX, float fromY, float entityWidth, float entityHeight) {
-        List<Float> alternatives = new ArrayList<>();
+    public int getAlternativeDirections(float fromX, float fromY, float entityWidth, float entityHeight,
+            float[] alternatives) {
+        int count = 0;
         float checkDistance = 100f;
         
         // Test 8 directions
@@ -218,11 +238,11 @@ public class WallAwarenessSystem {
             // Check if this direction is clear and not problematic
             if (!hasWallAhead(fromX, fromY, dir, checkDistance, entityWidth, entityHeight) &&
                 !isProblematicArea(testX, testY)) {
-                alternatives.add(dir);
+                alternatives[count++] = dir;
             }
         }
         
-        return alternatives;
+        return count;
     }
     
     /**
@@ -0,0 +1,87 @@
+package org.example.game;
+
+/**
+ * Remembers, per moving entity, a box around it that no wall overlaps. While a whole move
+ * (start and end bounds) stays inside its box the entity can't run into a wall, so the sweep
+ * and overlap tests can be skipped; an entity only pays for them every few dozen pixels, when
+ * it leaves its box and a new one is measured.
+ *
+ * A box is the entity's bounds grown by a margin, then cut back at each wall it reaches, so an
+ * entity walking along a wall keeps a box that ends at the wall's face. Walls never move, so a
+ * box stays good until its entity leaves it. Simulation thread only.
+ */
+public class WallClearanceCache {
+    private static final float MARGIN = 48f; // How far a box reaches past the entity where no wall is nearer
+
+    private boolean[] valid = new boolean[0];
+    private float[] boxLeft = new float[0];
+    private float[] boxTop = new float[0];
+    private float[] boxRight = new float[0];
+    private float[] boxBottom = new float[0];
+
+    /**
+     * Forgets every box and makes room for a number of entities
+     */
+    public void reset(int count) {
+        if (valid.length < count) {
+            valid = new boolean[count];
+            boxLeft = new float[count];
+            boxTop = new float[count];
+            boxRight = new float[count];
+            boxBottom = new float[count];
+        }
+        for (int i = 0; i < count; i++) {
+            valid[i] = false;
+        }
+    }
+
+    /**
+     * Checks whether a rectangle lies inside an entity's wall-free box
+     */
+    public boolean isClear(int index, float left, float top, float right, float bottom) {
+        return valid[index]
+                && left >= boxLeft[index] && top >= boxTop[index]
+                && right <= boxRight[index] && bottom <= boxBottom[index];
+    }
+
+    /**
+     * Measures a new box around an entity's bounds, which must be clear of the walls
+     */
+    public void refresh(int index, float left, float top, float right, float bottom, WallGrid wallGrid) {
+        float clearLeft = left - MARGIN;
+        float clearTop = top - MARGIN;
+        float clearRight = right + MARGIN;
+        float clearBottom = bottom + MARGIN;
+        int wallIndex = -1;
+        while ((wallIndex = wallGrid.nextIntersecting(clearLeft, clearTop, clearRight, clearBottom, wallIndex)) >= 0) {
+            Wall wall = wallGrid.getWall(wallIndex);
+            // Cut the box off at the wall on the side where the gap between it and the entity is widest
+            float gapLeft = left - (wall.getX() + wall.getWidth());
+            float gapRight = wall.getX() - right;
+            float gapTop = top - (wall.getY() + wall.getHeight());
+            float gapBottom = wall.getY() - bottom;
+            float widest = Math.max(Math.max(gapLeft, gapRight), Math.max(gapTop, gapBottom));
+            if (widest < 0) {
+                valid[index] = false; // Inside the wall
+                return;
+            } else if (widest == gapLeft) {
+                clearLeft = wall.getX() + wall.getWidth();
+            } else if (widest == gapRight) {
+                clearRight = wall.getX();
+            } else if (widest == gapTop) {
+                clearTop = wall.getY() + wall.getHeight();
+            } else {
+                clearBottom = wall.getY();
+            }
+        }
+        valid[index] = true;
+        boxLeft[index] = clearLeft;
+        boxTop[index] = clearTop;
+        boxRight[index] = clearRight;
+        boxBottom[index] = clearBottom;
+    }
+
+    public void invalidate(int index) {
+        valid[index] = false;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.game;
+
+import java.util.List;
+
+/**
+ * Broadphase for wall collisions: a uniform grid over the world where each cell lists the
+ * walls overlapping it, so a query only tests the walls near the queried rectangle.
+ * Walls never move, so the grid is built once per layout. The cells are packed into two int
+ * arrays (offsets into one array of wall indexes) and queries allocate nothing.
+ *
+ * Each cell lists its walls in the order of the layout's wall list, and queries report walls
+ * in that order, so collision resolution visits walls exactly like a scan of the whole list.
+ */
+public class WallGrid {
+    private static final float CELL_SIZE = 100f; // A couple of entities wide
+
+    private final List<Wall> walls;
+    private final int cellColumns;
+    private final int cellRows;
+    // Walls of cell i are cellWalls[cellStarts[i]] up to cellWalls[cellStarts[i + 1]], ascending
+    private final int[] cellStarts;
+    private final int[] cellWalls;
+
+    public WallGrid(List<Wall> walls, float worldWidth, float worldHeight) {
+        this.walls = walls;
+        // One extra cell so walls on the far world edge still have one
+        this.cellColumns = (int) (worldWidth / CELL_SIZE) + 1;
+        this.cellRows = (int) (worldHeight / CELL_SIZE) + 1;
+
+        // Count the walls per cell, turn the counts into offsets, then fill the cells in wall order
+        cellStarts = new int[cellColumns * cellRows + 1];
+        for (int i = 0; i < walls.size(); i++) {
+            Wall wall = walls.get(i);
+            for (int cellY = getRow(wall.getY()); cellY <= getRow(wall.getY() + wall.getHeight()); cellY++) {
+                for (int cellX = getColumn(wall.getX()); cellX <= getColumn(wall.getX() + wall.getWidth()); cellX++) {
+                    cellStarts[cellY * cellColumns + cellX + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cellColumns * cellRows; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        cellWalls = new int[cellStarts[cellColumns * cellRows]];
+        int[] filled = new int[cellColumns * cellRows];
+        for (int i = 0; i < walls.size(); i++) {
+            Wall wall = walls.get(i);
+            for (int cellY = getRow(wall.getY()); cellY <= getRow(wall.getY() + wall.getHeight()); cellY++) {
+                for (int cellX = getColumn(wall.getX()); cellX <= getColumn(wall.getX() + wall.getWidth()); cellX++) {
+                    int cell = cellY * cellColumns + cellX;
+                    cellWalls[cellStarts[cell] + filled[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the column of the cell containing an X position; positions outside the world use the edge cells
+     */
+    private int getColumn(float x) {
+        return Math.max(0, Math.min((int) Math.floor(x / CELL_SIZE), cellColumns - 1));
+    }
+
+    private int getRow(float y) {
+        return Math.max(0, Math.min((int) Math.floor(y / CELL_SIZE), cellRows - 1));
+    }
+
+    public List<Wall> getWalls() {
+        return walls;
+    }
+
+    public Wall getWall(int index) {
+        return walls.get(index);
+    }
+
+    /**
+     * Checks whether any wall overlaps a rectangle
+     * (same rules as {@link Wall#intersects(float, float, float, float)})
+     */
+    public boolean intersectsAny(float left, float top, float right, float bottom) {
+        return nextIntersecting(left, top, right, bottom, -1) >= 0;
+    }
+
+    /**
+     * Finds the first wall after the given one, in wall list order, that overlaps a rectangle
+     *
+     * @param afterIndex Index of the last wall already handled, or -1 to start at the first
+     * @return Index of the wall in {@link #getWalls()}, or -1 if no later wall overlaps the rectangle
+     */
+    public int nextIntersecting(float left, float top, float right, float bottom, int afterIndex) {
+        int lastColumn = getColumn(right);
+        int lastRow = getRow(bottom);
+        int found = -1;
+        for (int cellY = getRow(top); cellY <= lastRow; cellY++) {
+            for (int cellX = getColumn(left); cellX <= lastColumn; cellX++) {
+                int cell = cellY * cellColumns + cellX;
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    int index = cellWalls[i];
+                    if (found >= 0 && index >= found) {
+                        break; // Ascending, so the rest of the cell can't beat what was found
+                    }
+                    if (index > afterIndex && walls.get(index).intersects(left, top, right, bottom)) {
+                        found = index;
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.game;
+
+/**
+ * Size and population of a level: world dimensions, room grid, number of teachers and,
+ * optionally, a random seed for reproducible runs.
+ * The default matches the original hand-made school; other configurations are used
+ * to see how the simulation scales (benchmarks, headless runs).
+ */
+public class WorldConfig {
+    public static final WorldConfig DEFAULT = new WorldConfig(2000f, 2000f, 4, 3, 5);
+
+    private static final int MAX_FRIENDS = 5; // Friends per default-sized school
+
+    private final float worldWidth;
+    private final float worldHeight;
+    private final int roomsPerRow;
+    private final int roomsPerColumn;
+    private final int teacherCount;
+    private final Long seed; // Null for a different game every time
+
+    public WorldConfig(float worldWidth, float worldHeight, int roomsPerRow, int roomsPerColumn, int teacherCount) {
+        this(worldWidth, worldHeight, roomsPerRow, roomsPerColumn, teacherCount, null);
+    }
+
+    private WorldConfig(float worldWidth, float worldHeight, int roomsPerRow, int roomsPerColumn, int teacherCount,
+            Long seed) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.roomsPerRow = roomsPerRow;
+        this.roomsPerColumn = roomsPerColumn;
+        this.teacherCount = teacherCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a configuration for a world of the given size, with the room grid scaled
+     * from the default school (4x3 rooms per 2000x2000)
+     */
+    public static WorldConfig forWorldSize(float worldWidth, float worldHeight, int teacherCount) {
+        int roomsPerRow = Math.max(1, (int) (DEFAULT.roomsPerRow * worldWidth / DEFAULT.worldWidth));
+        int roomsPerColumn = Math.max(1, (int) (DEFAULT.roomsPerColumn * worldHeight / DEFAULT.worldHeight));
+        return new WorldConfig(worldWidth, worldHeight, roomsPerRow, roomsPerColumn, teacherCount);
+    }
+
+    /**
+     * Creates a copy of this configuration whose game and teacher randomness is seeded,
+     * so the same inputs replay the same game
+     */
+    public WorldConfig withSeed(long seed) {
+        return new WorldConfig(worldWidth, worldHeight, roomsPerRow, roomsPerColumn, teacherCount, seed);
+    }
+
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    public int getRoomsPerRow() {
+        return roomsPerRow;
+    }
+
+    public int getRoomsPerColumn() {
+        return roomsPerColumn;
+    }
+
+    public int getTeacherCount() {
+        return teacherCount;
+    }
+
+    public boolean hasSeed() {
+        return seed != null;
+    }
+
+    public long getSeed() {
+        return seed != null ? seed : 0L;
+    }
+
+    /**
+     * Gets how many friends to place: one per room up to the default five, and never
+     * more than there are teachers to guard them (scaled up with larger worlds)
+     */
+    public int getFriendCount() {
+        int rooms = roomsPerRow * roomsPerColumn;
+        int friends = Math.max(MAX_FRIENDS, rooms * MAX_FRIENDS / (DEFAULT.roomsPerRow * DEFAULT.roomsPerColumn));
+        return Math.max(1, Math.min(Math.min(friends, rooms), teacherCount));
+    }
+
+    @Override
+    public String toString() {
+        return "WorldConfig(" + (int) worldWidth + "x" + (int) worldHeight + ", rooms " + roomsPerRow + "x"
+                + roomsPerColumn + ", teachers " + teacherCount + (seed != null ? ", seed " + seed : "") + ")";
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.game;
+
+import org.example.bonuses.Bonus;
+
+/**
+ * Copy of everything the renderer needs from one simulation step.
+ * Snapshots are pooled by {@link SnapshotBuffer}: the simulation thread fills one and
+ * publishes it, after which it is read-only until the renderer hands it back.
+ * Positions are kept for the previous and the current step so drawing can interpolate.
+ * Fields are package-private and written by {@link GameEngine#writeSnapshot}.
+ */
+public class WorldSnapshot {
+    // Teacher state flags
+    static final int TEACHER_FROZEN = 1;
+    static final int TEACHER_AWAY = 1 << 1;
+    static final int TEACHER_CHASING = 1 << 2;
+    static final int TEACHER_HAS_VISION_CONE = 1 << 3;
+
+    long stepTimeNanos; // Simulation clock time of the current step
+    GameState state;
+
+    // Camera
+    float cameraPrevX;
+    float cameraPrevY;
+    float cameraX;
+    float cameraY;
+    float cameraZoom; // Screen pixels per world pixel
+    float viewportWidth; // Visible part of the world, in world pixels
+    float viewportHeight;
+
+    // Player
+    float playerPrevX;
+    float playerPrevY;
+    float playerX;
+    float playerY;
+    float playerWidth;
+    float playerHeight;
+
+    // Friends
+    int friendCount;
+    float[] friendX = new float[0];
+    float[] friendY = new float[0];
+    float[] friendWidth = new float[0];
+    float[] friendHeight = new float[0];
+    boolean[] friendRescued = new boolean[0];
+
+    // Teachers
+    int teacherCount;
+    float[] teacherPrevX = new float[0];
+    float[] teacherPrevY = new float[0];
+    float[] teacherX = new float[0];
+    float[] teacherY = new float[0];
+    float[] teacherWidth = new float[0];
+    float[] teacherHeight = new float[0];
+    float[] teacherDirection = new float[0];
+    float[] teacherVisionLength = new float[0];
+    int[] teacherFlags = new int[0];
+
+    // HUD
+    int score;
+    int friendsRescued;
+    int totalFriends;
+    int teachersAway;
+    int bonusCount;
+    Bonus[] bonuses = new Bonus[8];
+    String bonusMessage;
+    float bonusMessageTimer;
+    boolean principalBonusActive;
+    float principalBonusRemaining;
+
+    /**
+     * Grows the entity arrays if needed. Only allocates when the entity counts grow.
+     */
+    void ensureCapacity(int teachers, int friends, int collectedBonuses) {
+        if (teacherX.length < teachers) {
+            teacherPrevX = new float[teachers];
+            teacherPrevY = new float[teachers];
+            teacherX = new float[teachers];
+            teacherY = new float[teachers];
+            teacherWidth = new float[teachers];
+            teacherHeight = new float[teachers];
+            teacherDirection = new float[teachers];
+            teacherVisionLength = new float[teachers];
+            teacherFlags = new int[teachers];
+        }
+        if (friendX.length < friends) {
+            friendX = new float[friends];
+            friendY = new float[friends];
+            friendWidth = new float[friends];
+            friendHeight = new float[friends];
+            friendRescued = new boolean[friends];
+        }
+        if (bonuses.length < collectedBonuses) {
+            bonuses = new Bonus[Math.max(collectedBonuses, bonuses.length * 2)];
+        }
+    }
+
+    /**
+     * Interpolates between a previous and current value
+     */
+    static float lerp(float previous, float current, float alpha) {
+        return previous + (current - previous) * alpha;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getFriendsRescued() {
+        return friendsRescued;
+    }
+
+    public int getTotalFriends() {
+        return totalFriends;
+    }
+}
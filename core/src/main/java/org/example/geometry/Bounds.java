@@ -0,0 +1,69 @@
+package org.example.geometry;
+
+/**
+ * Axis-aligned rectangle in world coordinates, used by the simulation instead of
+ * android.graphics.RectF so it can run on a plain JVM.
+ * Edges follow RectF conventions: left/top are inclusive, right/bottom exclusive.
+ */
+public class Bounds {
+    public float left;
+    public float top;
+    public float right;
+    public float bottom;
+
+    public Bounds() {
+    }
+
+    public Bounds(float left, float top, float right, float bottom) {
+        set(left, top, right, bottom);
+    }
+
+    public Bounds set(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        return this;
+    }
+
+    public float width() {
+        return right - left;
+    }
+
+    public float height() {
+        return bottom - top;
+    }
+
+    public float centerX() {
+        return (left + right) * 0.5f;
+    }
+
+    public float centerY() {
+        return (top + bottom) * 0.5f;
+    }
+
+    /**
+     * Checks whether a point is inside (same rules as RectF.contains)
+     */
+    public boolean contains(float x, float y) {
+        return left < right && top < bottom
+                && x >= left && x < right && y >= top && y < bottom;
+    }
+
+    /**
+     * Checks whether two rectangles overlap by more than an edge
+     * (same test as RectF.intersect, but doesn't modify this rectangle)
+     */
+    public boolean intersects(Bounds other) {
+        return intersects(other.left, other.top, other.right, other.bottom);
+    }
+
+    public boolean intersects(float otherLeft, float otherTop, float otherRight, float otherBottom) {
+        return left < otherRight && otherLeft < right && top < otherBottom && otherTop < bottom;
+    }
+
+    @Override
+    public String toString() {
+        return "Bounds(" + left + ", " + top + ", " + right + ", " + bottom + ")";
+    }
+}
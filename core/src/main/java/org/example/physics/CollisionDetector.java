@@ -0,0 +1,261 @@
+package org.example.physics;
+
+import org.example.entities.Entity;
+import org.example.game.Wall;
+import org.example.game.WallGrid;
+
+import java.util.List;
+
+public class CollisionDetector {
+    private static final int RESOLVE_ATTEMPTS = 5; // Passes over the walls before giving up
+    
+    // Lists are walked with indexes rather than iterators so a tick allocates nothing
+
+    public static boolean checkWallCollision(Entity entity, float worldWidth, float worldHeight) {
+        return entity.getX() < 0 || 
+               entity.getY() < 0 || 
+               entity.getX() + entity.getWidth() > worldWidth ||
+               entity.getY() + entity.getHeight() > worldHeight;
+    }
+    
+    public static void resolveWallCollision(Entity entity, float worldWidth, float worldHeight) {
+        if (entity.getX() < 0) {
+            entity.setPosition(0, entity.getY());
+        }
+        if (entity.getY() < 0) {
+            entity.setPosition(entity.getX(), 0);
+        }
+        if (entity.getX() + entity.getWidth() > worldWidth) {
+            entity.setPosition(worldWidth - entity.getWidth(), entity.getY());
+        }
+        if (entity.getY() + entity.getHeight() > worldHeight) {
+            entity.setPosition(entity.getX(), worldHeight - entity.getHeight());
+        }
+    }
+    
+    public static boolean checkWallCollision(Entity entity, List<Wall> walls) {
+        float left = entity.getX();
+        float top = entity.getY();
+        float right = left + entity.getWidth();
+        float bottom = top + entity.getHeight();
+        for (int i = 0; i < walls.size(); i++) {
+            if (walls.get(i).intersects(left, top, right, bottom)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Same as {@link #checkWallCollision(Entity, List)}, testing only the walls near the entity
+     */
+    public static boolean checkWallCollision(Entity entity, WallGrid wallGrid) {
+        return wallGrid.intersectsAny(entity.getX(), entity.getY(),
+                entity.getX() + entity.getWidth(), entity.getY() + entity.getHeight());
+    }
+    
+    public static void resolveWallCollision(Entity entity, List<Wall> walls) {
+        float prevX = entity.getX();
+        float prevY = entity.getY();
+        
+        // Try to resolve collision by moving back - iterate multiple times to handle multiple walls
+        for (int attempt = 0; attempt < RESOLVE_ATTEMPTS; attempt++) {
+            boolean stillColliding = false;
+            
+            for (int i = 0; i < walls.size(); i++) {
+                Wall wall = walls.get(i);
+                if (wall.intersects(entity.getX(), entity.getY(),
+                        entity.getX() + entity.getWidth(), entity.getY() + entity.getHeight())) {
+                    stillColliding = true;
+                    pushOutOfWall(entity, wall);
+                }
+            }
+            
+            // If no collisions remain, we're done
+            if (!stillColliding) {
+                break;
+            }
+        }
+        
+        // If still colliding after all attempts, try reverting to previous position
+        if (checkWallCollision(entity, walls)) {
+            // Try moving back along velocity direction if available
+            entity.setPosition(prevX, prevY);
+        }
+    }
+    
+    /**
+     * Same as {@link #resolveWallCollision(Entity, List)}, testing only the walls near the entity.
+     * Walls are visited in the same order, so the result is identical.
+     */
+    public static void resolveWallCollision(Entity entity, WallGrid wallGrid) {
+        float prevX = entity.getX();
+        float prevY = entity.getY();
+        
+        for (int attempt = 0; attempt < RESOLVE_ATTEMPTS; attempt++) {
+            boolean stillColliding = false;
+            
+            // Each push moves the entity, so the next wall is looked up from where it is now
+            int index = -1;
+            while ((index = wallGrid.nextIntersecting(entity.getX(), entity.getY(),
+                    entity.getX() + entity.getWidth(), entity.getY() + entity.getHeight(), index)) >= 0) {
+                stillColliding = true;
+                pushOutOfWall(entity, wallGrid.getWall(index));
+            }
+            
+            if (!stillColliding) {
+                break;
+            }
+        }
+        
+        if (checkWallCollision(entity, wallGrid)) {
+            entity.setPosition(prevX, prevY);
+        }
+    }
+    
+    /**
+     * Moves an entity by a displacement, stopping at the first wall in the way and sliding
+     * along it for the rest of the move (swept AABB). The entity ends up touching the wall
+     * rather than inside it, however large the displacement, so no resolution pass is needed.
+     * Walls the entity already overlaps don't block it, so it can move out of them.
+     *
+     * @return Whether a wall blocked part of the move
+     */
+    public static boolean moveAndSlide(Entity entity, float dx, float dy, WallGrid wallGrid) {
+        boolean blocked = false;
+        // Each contact blocks one axis, so after two the move is over
+        for (int contact = 0; contact < 2 && (dx != 0 || dy != 0); contact++) {
+            float x = entity.getX();
+            float y = entity.getY();
+            float width = entity.getWidth();
+            float height = entity.getHeight();
+
+            // Only walls overlapping the area swept by the move can be hit
+            float sweepLeft = Math.min(x, x + dx);
+            float sweepTop = Math.min(y, y + dy);
+            float sweepRight = Math.max(x, x + dx) + width;
+            float sweepBottom = Math.max(y, y + dy) + height;
+            float firstTime = 1f;
+            Wall firstWall = null;
+            boolean firstHitsX = false;
+            int index = -1;
+            while ((index = wallGrid.nextIntersecting(sweepLeft, sweepTop, sweepRight, sweepBottom, index)) >= 0) {
+                Wall wall = wallGrid.getWall(index);
+                float entryX = getEntryTime(x, width, dx, wall.getX(), wall.getWidth());
+                float entryY = getEntryTime(y, height, dy, wall.getY(), wall.getHeight());
+                float exitX = getExitTime(x, width, dx, wall.getX(), wall.getWidth());
+                float exitY = getExitTime(y, height, dy, wall.getY(), wall.getHeight());
+                float entry = Math.max(entryX, entryY);
+                // A negative entry means the entity already overlaps the wall
+                if (entry >= 0 && entry < firstTime && entry < Math.min(exitX, exitY)) {
+                    firstTime = entry;
+                    firstWall = wall;
+                    firstHitsX = entryX >= entryY;
+                }
+            }
+
+            if (firstWall == null) {
+                entity.setPosition(x + dx, y + dy);
+                break;
+            }
+            blocked = true;
+            // Stop exactly at the contact on the blocked axis, then slide the rest of the way on the other
+            if (firstHitsX) {
+                float contactX = dx > 0 ? firstWall.getX() - width : firstWall.getX() + firstWall.getWidth();
+                entity.setPosition(contactX, y + dy * firstTime);
+                dy *= 1f - firstTime;
+                dx = 0;
+            } else {
+                float contactY = dy > 0 ? firstWall.getY() - height : firstWall.getY() + firstWall.getHeight();
+                entity.setPosition(x + dx * firstTime, contactY);
+                dx *= 1f - firstTime;
+                dy = 0;
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * Gets the fraction of a move along one axis at which an entity starts to overlap a wall on that axis
+     *
+     * @return The fraction, negative infinity if the entity overlaps the wall on this axis without moving
+     *         on it, or positive infinity if it never overlaps it
+     */
+    private static float getEntryTime(float position, float size, float delta, float wallPosition, float wallSize) {
+        if (delta > 0) {
+            return (wallPosition - (position + size)) / delta;
+        }
+        if (delta < 0) {
+            return (wallPosition + wallSize - position) / delta;
+        }
+        boolean overlaps = position < wallPosition + wallSize && wallPosition < position + size;
+        return overlaps ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the fraction of a move along one axis at which an entity stops overlapping a wall on that axis
+     */
+    private static float getExitTime(float position, float size, float delta, float wallPosition, float wallSize) {
+        if (delta > 0) {
+            return (wallPosition + wallSize - position) / delta;
+        }
+        if (delta < 0) {
+            return (wallPosition - (position + size)) / delta;
+        }
+        return Float.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Moves an entity overlapping a wall out of it, along the side it overlaps least
+     */
+    private static void pushOutOfWall(Entity entity, Wall wall) {
+        float margin = 3f; // Margin to push entity away from wall to prevent getting stuck
+        
+        // Calculate center points
+        float entityCenterX = entity.getX() + entity.getWidth() / 2;
+        float entityCenterY = entity.getY() + entity.getHeight() / 2;
+        float wallCenterX = wall.getX() + wall.getWidth() / 2;
+        float wallCenterY = wall.getY() + wall.getHeight() / 2;
+        
+        // Calculate overlaps
+        float overlapLeft = (entity.getX() + entity.getWidth()) - wall.getX();
+        float overlapRight = (wall.getX() + wall.getWidth()) - entity.getX();
+        float overlapTop = (entity.getY() + entity.getHeight()) - wall.getY();
+        float overlapBottom = (wall.getY() + wall.getHeight()) - entity.getY();
+        
+        // Find minimum overlap
+        float minOverlap = Math.min(Math.min(overlapLeft, overlapRight), 
+                                   Math.min(overlapTop, overlapBottom));
+        
+        // Resolve collision based on minimum overlap direction with margin
+        if (minOverlap == overlapLeft && overlapLeft < overlapRight) {
+            entity.setPosition(wall.getX() - entity.getWidth() - margin, entity.getY());
+        } else if (minOverlap == overlapRight && overlapRight < overlapLeft) {
+            entity.setPosition(wall.getX() + wall.getWidth() + margin, entity.getY());
+        } else if (minOverlap == overlapTop && overlapTop < overlapBottom) {
+            entity.setPosition(entity.getX(), wall.getY() - entity.getHeight() - margin);
+        } else if (minOverlap == overlapBottom && overlapBottom < overlapTop) {
+            entity.setPosition(entity.getX(), wall.getY() + wall.getHeight() + margin);
+        } else {
+            // If overlaps are similar, push based on center distance
+            float dx = entityCenterX - wallCenterX;
+            float dy = entityCenterY - wallCenterY;
+            
+            if (Math.abs(dx) > Math.abs(dy)) {
+                // Push horizontally
+                if (dx > 0) {
+                    entity.setPosition(wall.getX() + wall.getWidth() + margin, entity.getY());
+                } else {
+                    entity.setPosition(wall.getX() - entity.getWidth() - margin, entity.getY());
+                }
+            } else {
+                // Push vertically
+                if (dy > 0) {
+                    entity.setPosition(entity.getX(), wall.getY() + wall.getHeight() + margin);
+                } else {
+                    entity.setPosition(entity.getX(), wall.getY() - entity.getHeight() - margin);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.game;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class EntityGridTest {
+    @Test public void gridQueriesMatchScanningEveryEntity() {
+        int count = 300;
+        float[] x = new float[count];
+        float[] y = new float[count];
+        float[] size = new float[count];
+        boolean[] excluded = new boolean[count];
+        EntityGrid grid = new EntityGrid();
+        int[] found = new int[count];
+        Random random = new Random(42L);
+        grid.reset(4000f, 3000f, count);
+
+        for (int round = 0; round < 20; round++) {
+            // Refilled every round like the teachers each tick, some partly outside the world
+            grid.clear();
+            for (int i = 0; i < count; i++) {
+                x[i] = random.nextFloat() * 4100f - 50f;
+                y[i] = random.nextFloat() * 3100f - 50f;
+                size[i] = 20f + random.nextFloat() * 80f;
+                excluded[i] = random.nextInt(4) == 0;
+                grid.insert(i, x[i], y[i], size[i], size[i]);
+            }
+
+            for (int q = 0; q < 200; q++) {
+                float left = random.nextFloat() * 4000f;
+                float top = random.nextFloat() * 3000f;
+                float right = left + random.nextFloat() * 60f;
+                float bottom = top + random.nextFloat() * 60f;
+                boolean[] listed = new boolean[count];
+                int listedCount = grid.query(left, top, right, bottom, found);
+                for (int c = 0; c < listedCount; c++) {
+                    listed[found[c]] = true;
+                }
+
+                int nearest = -1;
+                float nearestDistance = Float.MAX_VALUE;
+                for (int i = 0; i < count; i++) {
+                    if (x[i] < right && left < x[i] + size[i] && y[i] < bottom && top < y[i] + size[i]) {
+                        assertTrue(listed[i]);
+                    }
+                    float dx = x[i] + size[i] / 2f - left;
+                    float dy = y[i] + size[i] / 2f - top;
+                    float distance = (float) Math.sqrt(dx * dx + dy * dy);
+                    if (!excluded[i] && distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nearest = i;
+                    }
+                }
+                assertEquals(nearest, grid.findNearest(left, top, excluded));
+            }
+        }
+
+        grid.clear();
+        assertEquals(0, grid.query(0f, 0f, 4000f, 3000f, found));
+        assertEquals(-1, grid.findNearest(100f, 100f, null));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.game;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import org.example.entities.Player;
+
+public class GameEngineTest {
+    private static final float STEP = GameEngine.FIXED_TIMESTEP;
+
+    @Test public void engineRunsHeadlessWithDefaultSizes() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        for (int i = 0; i < 60; i++) {
+            engine.update(STEP);
+        }
+        assertEquals(5, engine.getTotalFriends());
+        assertEquals(5, engine.getTeachers().size());
+        assertEquals(40f, engine.getPlayer().getWidth(), 0f);
+    }
+
+    @Test public void movementCommandIsAppliedOnNextStep() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        Player player = engine.getPlayer();
+        float startX = player.getX();
+
+        engine.setPlayerMovement(false, false, false, true);
+        assertEquals("commands must not apply before the next step", startX, player.getX(), 0f);
+
+        engine.update(STEP);
+        assertTrue(player.getX() > startX);
+    }
+
+    @Test public void commandsWaitForTheStepTheyWerePostedIn() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        long[] now = {100};
+        engine.getCommandQueue().setClock(() -> now[0]);
+        Player player = engine.getPlayer();
+        float startX = player.getX();
+
+        engine.setPlayerMovement(false, false, false, true);
+        engine.update(STEP, 50); // Step ends before the command was posted
+        assertEquals(startX, player.getX(), 0f);
+
+        engine.update(STEP, 150);
+        assertTrue(player.getX() > startX);
+    }
+
+    @Test public void stateChangesAreReportedToListeners() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        GameState[] reported = new GameState[2];
+        engine.addGameEventListener(new GameEventListener() {
+            @Override
+            public void onStateChanged(GameState previousState, GameState newState) {
+                reported[0] = previousState;
+                reported[1] = newState;
+            }
+        });
+
+        engine.setState(GameState.PAUSED);
+        assertNull("state changes are applied by the simulation step", reported[1]);
+        engine.update(STEP);
+        assertEquals(GameState.PLAYING, reported[0]);
+        assertEquals(GameState.PAUSED, reported[1]);
+
+        // Resume only applies while still paused
+        engine.setState(GameState.QUESTION);
+        engine.resumeFromPause();
+        engine.update(STEP);
+        assertEquals(GameState.QUESTION, engine.getState());
+    }
+
+    @Test public void snapshotHoldsPreviousAndCurrentPositions() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        Player player = engine.getPlayer();
+        engine.setPlayerMovement(false, true, false, false);
+        engine.update(STEP);
+
+        WorldSnapshot snapshot = new WorldSnapshot();
+        engine.writeSnapshot(snapshot, 1234L);
+        assertEquals(1234L, snapshot.stepTimeNanos);
+        assertEquals(GameState.PLAYING, snapshot.getState());
+        assertEquals(player.getPreviousY(), snapshot.playerPrevY, 0f);
+        assertEquals(player.getY(), snapshot.playerY, 0f);
+        assertTrue(snapshot.playerY > snapshot.playerPrevY);
+        assertEquals(engine.getTeachers().size(), snapshot.teacherCount);
+        assertEquals(engine.getTotalFriends(), snapshot.friendCount);
+    }
+
+    @Test public void zoomingOutStopsWhenTheWholeWorldFits() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        WorldSnapshot snapshot = new WorldSnapshot();
+
+        engine.setCameraZoom(0.75f);
+        engine.update(STEP);
+        engine.writeSnapshot(snapshot, 0L);
+        assertEquals(0.75f, snapshot.cameraZoom, 0f);
+        assertEquals(1440f, snapshot.viewportWidth, 1e-3f);
+
+        engine.setCameraZoom(0.1f);
+        engine.update(STEP);
+        engine.writeSnapshot(snapshot, 0L);
+        assertEquals(engine.getWorldWidth(), snapshot.viewportWidth, 1e-3f);
+        assertTrue(snapshot.viewportHeight >= engine.getWorldHeight());
+        assertEquals(0f, snapshot.cameraX, 0f);
+        assertEquals(0f, snapshot.cameraY, 0f);
+    }
+
+    @Test public void touchingAFriendRescuesIt() {
+        GameEngine engine = new GameEngine(1080, 1920, null);
+        EntityStore entities = engine.getEntityStore();
+        engine.getPlayer().setPosition(entities.friendX[0], entities.friendY[0]);
+        engine.update(STEP);
+
+        assertEquals(1, engine.getFriendsRescued());
+        assertEquals(1, entities.getFriendsRescued());
+        WorldSnapshot snapshot = new WorldSnapshot();
+        engine.writeSnapshot(snapshot, 0L);
+        assertTrue(snapshot.friendRescued[0]);
+        assertFalse(snapshot.friendRescued[1]);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.game;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventDispatcherTest {
+    @Test public void fullQueueDropsRescuesBeforeStateChanges() {
+        List<Runnable> posted = new ArrayList<>();
+        List<String> delivered = new ArrayList<>();
+        GameEventDispatcher dispatcher = createDispatcher(posted, delivered);
+
+        // The listener thread is stalled while far more events than the queue holds are raised
+        dispatcher.stateChanged(GameState.PLAYING, GameState.QUESTION);
+        for (int i = 1; i <= 200; i++) {
+            dispatcher.friendRescued(i, 200);
+        }
+        dispatcher.stateChanged(GameState.QUESTION, GameState.PLAYING);
+        runAll(posted);
+
+        assertEquals("state PLAYING>QUESTION", delivered.get(0));
+        assertEquals("state QUESTION>PLAYING", delivered.get(delivered.size() - 1));
+        // The newest rescues are the ones kept
+        assertEquals("rescued 200", delivered.get(delivered.size() - 2));
+    }
+
+    @Test public void stateChangesFoldIntoTheNewestWhenNothingElseCanGo() {
+        List<Runnable> posted = new ArrayList<>();
+        List<String> delivered = new ArrayList<>();
+        GameEventDispatcher dispatcher = createDispatcher(posted, delivered);
+
+        GameState state = GameState.PLAYING;
+        for (int i = 0; i < 101; i++) {
+            GameState next = state == GameState.PLAYING ? GameState.QUESTION : GameState.PLAYING;
+            dispatcher.stateChanged(state, next);
+            state = next;
+        }
+        dispatcher.friendRescued(1, 5);
+        runAll(posted);
+
+        assertEquals("state PLAYING>QUESTION", delivered.get(0));
+        // Listeners end up on the latest state and the rescue that couldn't fit is gone
+        assertEquals("state QUESTION>" + state, delivered.get(delivered.size() - 1));
+        assertFalse(delivered.contains("rescued 1"));
+    }
+
+    private static GameEventDispatcher createDispatcher(List<Runnable> posted, final List<String> delivered) {
+        GameEventDispatcher dispatcher = new GameEventDispatcher();
+        dispatcher.setExecutor(posted::add);
+        dispatcher.addListener(new GameEventListener() {
+            @Override
+            public void onStateChanged(GameState previousState, GameState newState) {
+                delivered.add("state " + previousState + ">" + newState);
+            }
+
+            @Override
+            public void onFriendRescued(int friendsRescued, int totalFriends) {
+                delivered.add("rescued " + friendsRescued);
+            }
+        });
+        return dispatcher;
+    }
+
+    private static void runAll(List<Runnable> posted) {
+        for (int i = 0; i < posted.size(); i++) {
+            posted.get(i).run();
+        }
+    }
+}
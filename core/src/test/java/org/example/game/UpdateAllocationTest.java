@@ -0,0 +1,75 @@
+package org.example.game;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Guards the simulation step against allocations: once warmed up, a tick (update plus
+ * snapshot copy) must not allocate, or the garbage collector will eventually cause a hitch.
+ */
+public class UpdateAllocationTest {
+    private static final float STEP = GameEngine.FIXED_TIMESTEP;
+    private static final int SCENARIO_TICKS = 6000; // 100 seconds of play
+    private static final int SETUP_TICKS = 60; // Lazy setup (pathfinder, vision cones) happens in here
+    private static final int TICKS_PER_DIRECTION = 90;
+
+    @Test public void tickDoesNotAllocateAfterWarmUp() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue("per-thread allocation counting not supported",
+                threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue("per-thread allocation counting not supported",
+                allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        // The first run of a code path allocates while the JVM links it, so play the
+        // scenario once to warm up, then replay it (same seed, same input) and measure.
+        // Many teachers so chasing, unstucking and opening searches all happen.
+        WorldConfig config = WorldConfig.forWorldSize(2000f, 2000f, 20).withSeed(7);
+        WorldSnapshot snapshot = new WorldSnapshot();
+        GameEngine warmUp = new GameEngine(1080, 1920, null, config);
+        for (int tick = 0; tick < SCENARIO_TICKS; tick++) {
+            step(warmUp, snapshot, tick);
+        }
+
+        GameEngine engine = new GameEngine(1080, 1920, null, config);
+        for (int tick = 0; tick < SETUP_TICKS; tick++) {
+            step(engine, snapshot, tick);
+        }
+
+        // Reading the counter may itself allocate; measure that and leave it out
+        long calibrationStart = allocations.getCurrentThreadAllocatedBytes();
+        long overhead = allocations.getCurrentThreadAllocatedBytes() - calibrationStart;
+
+        long before = allocations.getCurrentThreadAllocatedBytes();
+        for (int tick = SETUP_TICKS; tick < SCENARIO_TICKS; tick++) {
+            step(engine, snapshot, tick);
+        }
+        long allocated = allocations.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertEquals("the replay must match the warm-up run",
+                warmUp.getTeachers().get(0).getX(), engine.getTeachers().get(0).getX(), 0f);
+        assertEquals("bytes allocated by " + (SCENARIO_TICKS - SETUP_TICKS) + " ticks after warm-up",
+                0L, allocated);
+    }
+
+    /**
+     * One simulation step as the simulation thread runs it, with the player walking a
+     * square and every question answered correctly
+     */
+    private static void step(GameEngine engine, WorldSnapshot snapshot, int tick) {
+        if (tick % TICKS_PER_DIRECTION == 0) {
+            int side = (tick / TICKS_PER_DIRECTION) % 4;
+            engine.setPlayerMovement(side == 3, side == 1, side == 2, side == 0);
+        }
+        if (engine.getState() == GameState.QUESTION) {
+            engine.freezeTeacherThatCaughtPlayer();
+            engine.setState(GameState.PLAYING);
+        }
+        engine.update(STEP);
+        engine.writeSnapshot(snapshot, tick);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.game;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import org.example.entities.Player;
+import org.example.physics.CollisionDetector;
+
+import java.util.Random;
+
+public class WallGridTest {
+    @Test public void gridQueriesMatchScanningEveryWall() {
+        SchoolLayout layout = new SchoolLayout(WorldConfig.forWorldSize(4000f, 3000f, 5));
+        Player scanned = new Player(0, 0, null);
+        Player gridded = new Player(0, 0, null);
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 5000; i++) {
+            // Includes positions partly outside the world
+            float x = random.nextFloat() * 4100f - 50f;
+            float y = random.nextFloat() * 3100f - 50f;
+            scanned.setPosition(x, y);
+            gridded.setPosition(x, y);
+            assertEquals(CollisionDetector.checkWallCollision(scanned, layout.getWalls()),
+                    CollisionDetector.checkWallCollision(gridded, layout.getWallGrid()));
+
+            CollisionDetector.resolveWallCollision(scanned, layout.getWalls());
+            CollisionDetector.resolveWallCollision(gridded, layout.getWallGrid());
+            assertEquals(scanned.getX(), gridded.getX(), 0f);
+            assertEquals(scanned.getY(), gridded.getY(), 0f);
+        }
+    }
+
+    @Test public void sweptMoveStopsAtTheFirstWallAndSlides() {
+        SchoolLayout layout = new SchoolLayout(2000f, 2000f);
+        Player player = new Player(40f, 500f, null); // In the corridor left of the rooms
+
+        // Up into the outer wall, sliding sideways along it
+        assertTrue(CollisionDetector.moveAndSlide(player, 10f, -1000f, layout.getWallGrid()));
+        assertEquals(50f, player.getX(), 1e-3f);
+        assertEquals(20f, player.getY(), 0f);
+
+        // Far further than the world is wide: stops at the right outer wall instead of passing it
+        player.setPosition(40f, 50f);
+        assertTrue(CollisionDetector.moveAndSlide(player, 5000f, 0f, layout.getWallGrid()));
+        assertEquals(2000f - 20f - 40f, player.getX(), 0f);
+        assertFalse(CollisionDetector.checkWallCollision(player, layout.getWallGrid()));
+
+        assertFalse(CollisionDetector.moveAndSlide(player, -100f, 0f, layout.getWallGrid()));
+    }
+
+    @Test public void clearanceBoxesHoldNoWall() {
+        SchoolLayout layout = new SchoolLayout(WorldConfig.forWorldSize(4000f, 3000f, 5));
+        WallGrid grid = layout.getWallGrid();
+        WallClearanceCache cache = new WallClearanceCache();
+        cache.reset(1);
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 2000; i++) {
+            float x = random.nextFloat() * 4000f;
+            float y = random.nextFloat() * 3000f;
+            if (grid.intersectsAny(x, y, x + 40f, y + 40f)) {
+                continue;
+            }
+            cache.refresh(0, x, y, x + 40f, y + 40f, grid);
+            assertTrue(cache.isClear(0, x, y, x + 40f, y + 40f));
+
+            // Any move the cache lets through touches no wall
+            for (int j = 0; j < 20; j++) {
+                float movedX = x + random.nextFloat() * 100f - 50f;
+                float movedY = y + random.nextFloat() * 100f - 50f;
+                if (cache.isClear(0, movedX, movedY, movedX + 40f, movedY + 40f)) {
+                    assertFalse(grid.intersectsAny(movedX, movedY, movedX + 40f, movedY + 40f));
+                }
+            }
+        }
+    }
+}
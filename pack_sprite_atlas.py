@@ -0,0 +1,165 @@
+#!/usr/bin/env python3
+"""
+Packs the game sprites into one atlas bitmap, so the game decodes a single image at startup
+and draws every sprite from it with a source rectangle.
+
+Reads the sprite PNGs from app/src/main/res/drawable and writes:
+  app/src/main/res/drawable/sprite_atlas.png  - the packed sprites
+  app/src/main/res/raw/sprite_atlas.txt       - one "name x y width height" line per sprite
+
+Run it again whenever a sprite is added or changed. Uses only the standard library.
+"""
+
+import os
+import struct
+import zlib
+
+DRAWABLE_DIR = "app/src/main/res/drawable"
+RAW_DIR = "app/src/main/res/raw"
+ATLAS_NAME = "sprite_atlas"
+
+# Sprites packed into the atlas, by resource name (missing files are skipped)
+SPRITES = [
+    "sprite_player",
+    "sprite_teacher",
+    "sprite_friend",
+    "tile_wall",
+    "tile_floor",
+    "tile_corridor",
+    "tile_room",
+]
+
+MAX_WIDTH = 128
+# Each sprite's edge pixels are repeated this far around it, and sprites are kept this far
+# apart, so scaling the atlas for the screen density doesn't bleed neighbors into each other
+EXTRUDE = 1
+SPACING = 1
+
+
+def read_png(path):
+    """Decodes an 8-bit, non-interlaced RGB or RGBA PNG into (width, height, rows of RGBA bytes)"""
+    with open(path, "rb") as f:
+        data = f.read()
+    if data[:8] != b"\x89PNG\r\n\x1a\n":
+        raise ValueError(f"{path}: not a PNG")
+
+    pos = 8
+    idat = b""
+    while pos < len(data):
+        length, kind = struct.unpack(">I4s", data[pos:pos + 8])
+        body = data[pos + 8:pos + 8 + length]
+        if kind == b"IHDR":
+            width, height, depth, color_type, _, _, interlace = struct.unpack(">IIBBBBB", body)
+        elif kind == b"IDAT":
+            idat += body
+        pos += 12 + length
+
+    if depth != 8 or color_type not in (2, 6) or interlace != 0:
+        raise ValueError(f"{path}: only 8-bit non-interlaced RGB/RGBA PNGs are supported")
+    channels = 4 if color_type == 6 else 3
+
+    raw = zlib.decompress(idat)
+    stride = width * channels
+    rows = []
+    previous = bytearray(stride)
+    for y in range(height):
+        start = y * (stride + 1)
+        kind = raw[start]
+        row = bytearray(raw[start + 1:start + 1 + stride])
+        for i in range(stride):
+            left = row[i - channels] if i >= channels else 0
+            up = previous[i]
+            up_left = previous[i - channels] if i >= channels else 0
+            if kind == 1:
+                row[i] = (row[i] + left) & 0xFF
+            elif kind == 2:
+                row[i] = (row[i] + up) & 0xFF
+            elif kind == 3:
+                row[i] = (row[i] + ((left + up) >> 1)) & 0xFF
+            elif kind == 4:
+                p = left + up - up_left
+                pa, pb, pc = abs(p - left), abs(p - up), abs(p - up_left)
+                predictor = left if pa <= pb and pa <= pc else (up if pb <= pc else up_left)
+                row[i] = (row[i] + predictor) & 0xFF
+        previous = row
+        if channels == 3:
+            rgba = bytearray()
+            for i in range(0, stride, 3):
+                rgba += row[i:i + 3] + b"\xff"
+            row = rgba
+        rows.append(row)
+    return width, height, rows
+
+
+def write_png(path, width, height, rows):
+    """Writes RGBA rows as an 8-bit RGBA PNG"""
+    def chunk(kind, body):
+        return struct.pack(">I", len(body)) + kind + body + struct.pack(">I", zlib.crc32(kind + body))
+
+    raw = b"".join(b"\x00" + bytes(row) for row in rows)
+    with open(path, "wb") as f:
+        f.write(b"\x89PNG\r\n\x1a\n")
+        f.write(chunk(b"IHDR", struct.pack(">IIBBBBB", width, height, 8, 6, 0, 0, 0)))
+        f.write(chunk(b"IDAT", zlib.compress(raw, 9)))
+        f.write(chunk(b"IEND", b""))
+
+
+def pack(sprites):
+    """Places the sprites on shelves, tallest first. Returns atlas size and {name: (x, y)}."""
+    border = EXTRUDE + SPACING
+    placements = {}
+    x = y = shelf_height = 0
+    width = 0
+    for name, (w, h, _) in sorted(sprites.items(), key=lambda item: (-item[1][1], item[0])):
+        cell_w, cell_h = w + 2 * border, h + 2 * border
+        if x + cell_w > MAX_WIDTH and x > 0:
+            y += shelf_height
+            x = shelf_height = 0
+        placements[name] = (x + border, y + border)
+        x += cell_w
+        width = max(width, x)
+        shelf_height = max(shelf_height, cell_h)
+    return width, y + shelf_height, placements
+
+
+def main():
+    sprites = {}
+    for name in SPRITES:
+        path = os.path.join(DRAWABLE_DIR, name + ".png")
+        if os.path.exists(path):
+            sprites[name] = read_png(path)
+        else:
+            print(f"Skipped (not found): {path}")
+
+    width, height, placements = pack(sprites)
+    atlas = [bytearray(width * 4) for _ in range(height)]
+    for name, (x, y) in placements.items():
+        w, h, rows = sprites[name]
+        # Copy the sprite with its edge pixels extruded by EXTRUDE
+        for ty in range(-EXTRUDE, h + EXTRUDE):
+            src_row = rows[min(max(ty, 0), h - 1)]
+            for tx in range(-EXTRUDE, w + EXTRUDE):
+                sx = min(max(tx, 0), w - 1)
+                dst = (x + tx) * 4
+                atlas[y + ty][dst:dst + 4] = src_row[sx * 4:sx * 4 + 4]
+
+    os.makedirs(RAW_DIR, exist_ok=True)
+    atlas_path = os.path.join(DRAWABLE_DIR, ATLAS_NAME + ".png")
+    write_png(atlas_path, width, height, atlas)
+    metadata_path = os.path.join(RAW_DIR, ATLAS_NAME + ".txt")
+    with open(metadata_path, "w", newline="\n") as f:
+        f.write("# Generated by pack_sprite_atlas.py - do not edit\n")
+        f.write("# size <atlas width> <atlas height>, then <name> <x> <y> <width> <height> per sprite\n")
+        f.write(f"size {width} {height}\n")
+        for name in SPRITES:
+            if name in placements:
+                x, y = placements[name]
+                w, h, _ = sprites[name]
+                f.write(f"{name} {x} {y} {w} {h}\n")
+
+    print(f"Created: {atlas_path} ({width}x{height}, {len(placements)} sprites)")
+    print(f"Created: {metadata_path}")
+
+
+if __name__ == "__main__":
+    main()
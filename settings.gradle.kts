@@ -20,4 +20,6 @@ plugins {
 }
 
 rootProject.name = "FreeFriendsInSchoolGame"
+include("core")
 include("app")
+include("benchmarks")